@@ -0,0 +1,123 @@
+package net.binis.codegen.projection.benchmark;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.factory.CodeFactory;
+import net.binis.codegen.projection.provider.CodeGenProjectionProvider;
+import net.binis.codegen.projection.tools.ProjectionSettings;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per element of projecting a list one element at a time and with
+ * {@link CodeGenProjectionProvider#projectAll(List, Class, Object[])}, sequentially ({@code parallelism} 0) and on
+ * fork join pools of the given size, to see how bulk projection scales with the number of cores. Every tenth element
+ * is of a subclass, so the list has more than one element class. {@link #perElement()} does not depend on
+ * {@code parallelism}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkProjectionBenchmark {
+
+    private static final int INSTANCES = 100_000;
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int parallelism;
+
+    private CodeGenProjectionProvider provider;
+    private List<Entity> entities;
+    private View[] result;
+    private ForkJoinPool pool;
+    private int threshold;
+
+    @Setup
+    public void setUp() {
+        provider = new CodeGenProjectionProvider();
+        entities = new ArrayList<>();
+        for (var i = 0; i < INSTANCES; i++) {
+            entities.add(i % 10 == 0 ? new ShiftedEntity(i) : new Entity(i));
+        }
+        result = new View[INSTANCES];
+        threshold = ProjectionSettings.getParallelThreshold();
+        ProjectionSettings.setParallelThreshold(parallelism == 0 ? 0 : INSTANCES / 64);
+        pool = new ForkJoinPool(Math.max(parallelism, 1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+        ProjectionSettings.setParallelThreshold(threshold);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSTANCES)
+    public View[] perElement() {
+        for (var i = 0; i < INSTANCES; i++) {
+            result[i] = CodeFactory.projection(entities.get(i), View.class);
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSTANCES)
+    public View[] bulk() {
+        if (parallelism == 0) {
+            return provider.projectAll(entities, View.class, result);
+        }
+        return pool.submit(() -> provider.projectAll(entities, View.class, result)).join();
+    }
+
+    public interface View {
+        int getIndex();
+    }
+
+    public static class Entity {
+        private final int index;
+
+        public Entity(int index) {
+            this.index = index;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+    }
+
+    public static class ShiftedEntity extends Entity {
+        public ShiftedEntity(int index) {
+            super(index);
+        }
+
+        @Override
+        public int getIndex() {
+            return super.getIndex() + 1;
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package net.binis.codegen.projection.benchmark;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.factory.ProjectionInstantiation;
+import net.binis.codegen.projection.provider.CodeGenProjectionProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of creating a class proxy through the instantiation returned by
+ * {@link CodeGenProjectionProvider#warmUpProxy(Class[])}, through {@link CodeGenProjectionProvider#proxy(Class, InvocationHandler)}
+ * and, as the baseline, of creating the proxied class itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassProxyBenchmark {
+
+    private CodeGenProjectionProvider provider;
+    private ProjectionInstantiation instantiation;
+    private InvocationHandler handler;
+
+    @Setup
+    public void setUp() {
+        provider = new CodeGenProjectionProvider();
+        instantiation = provider.warmUpProxy(Entity.class);
+        handler = (proxy, method, args) -> "getValue".equals(method.getName()) ? 5 : "name";
+    }
+
+    @Benchmark
+    public Object warmedUp() {
+        return instantiation.create(handler);
+    }
+
+    @Benchmark
+    public Object proxy() {
+        return provider.proxy(Entity.class, handler);
+    }
+
+    @Benchmark
+    public Object plain() {
+        return new Entity();
+    }
+
+    public static class Entity {
+        public String getName() {
+            return "name";
+        }
+
+        public int getValue() {
+            return 5;
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package net.binis.codegen.projection.benchmark;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.map.Mapper;
+import net.binis.codegen.projection.tools.ConversionSite;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per value of converting through a {@link ConversionSite} and through {@link Mapper#convert(Object, Class)}.
+ * Two of the values already have the target type, the site returns them as they are, the third needs a conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionSiteBenchmark {
+
+    private static final int VALUES = 3;
+
+    private Object[] values;
+    private Class<?>[] types;
+    private ConversionSite[] sites;
+
+    @Setup
+    public void setUp() {
+        values = new Object[]{"name", 5, "7"};
+        types = new Class<?>[]{String.class, Integer.class, Integer.class};
+        sites = new ConversionSite[VALUES];
+        for (var i = 0; i < VALUES; i++) {
+            sites[i] = new ConversionSite(types[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void site(Blackhole blackhole) {
+        for (var i = 0; i < VALUES; i++) {
+            blackhole.consume(sites[i].convert(values[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void mapper(Blackhole blackhole) {
+        for (var i = 0; i < VALUES; i++) {
+            blackhole.consume(Mapper.convert(values[i], types[i]));
+        }
+    }
+
+}
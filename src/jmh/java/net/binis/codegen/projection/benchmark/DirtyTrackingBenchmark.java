@@ -0,0 +1,72 @@
+package net.binis.codegen.projection.benchmark;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.projection.provider.MapBackedProjectionProvider;
+import net.binis.codegen.projection.tools.ProjectionSettings;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per setter call of map-backed projections generated with and without dirty tracking (see
+ * {@link ProjectionSettings#isDirtyTracking()}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirtyTrackingBenchmark {
+
+    @Param({"false", "true"})
+    public boolean tracking;
+
+    private Editor editor;
+    private int value;
+
+    @Setup
+    public void setUp() {
+        ProjectionSettings.setDirtyTracking(tracking);
+        try {
+            editor = MapBackedProjectionProvider.create(new HashMap<>(), Editor.class);
+        } finally {
+            ProjectionSettings.setDirtyTracking(false);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public Editor edit() {
+        editor.setName("name");
+        editor.setValue(value++ & 127);
+        return editor;
+    }
+
+    public interface Editor {
+        void setName(String name);
+
+        void setValue(int value);
+    }
+
+}
@@ -0,0 +1,92 @@
+package net.binis.codegen.projection.benchmark;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.projection.provider.CodeGenProjectionProvider;
+import net.binis.codegen.projection.tools.ProjectionSettings;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of generating the bytecode of a projection class with the stack map frames emitted by the generator and with
+ * frames computed by ASM (see {@link ProjectionSettings#isComputeFrames()}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameComputationBenchmark {
+
+    @Param({"false", "true"})
+    public boolean computeFrames;
+
+    private CodeGenProjectionProvider provider;
+    private Class<?>[] projections;
+
+    @Setup
+    public void setUp() {
+        ProjectionSettings.setComputeFrames(computeFrames);
+        provider = new CodeGenProjectionProvider();
+        projections = new Class<?>[]{View.class};
+    }
+
+    @TearDown
+    public void tearDown() {
+        ProjectionSettings.setComputeFrames(false);
+    }
+
+    @Benchmark
+    public byte[] generate() {
+        return provider.makeProjectionClass(Entity.class, projections).getBytes();
+    }
+
+    public interface View {
+        String getName();
+
+        int getValue();
+
+        long getCount();
+
+        String getChildName();
+    }
+
+    public static class Entity {
+        public String getName() {
+            return "name";
+        }
+
+        public int getValue() {
+            return 5;
+        }
+
+        public long getCount() {
+            return 7;
+        }
+
+        public Entity getChild() {
+            return this;
+        }
+    }
+
+}
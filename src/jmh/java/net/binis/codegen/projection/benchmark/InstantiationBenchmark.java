@@ -0,0 +1,102 @@
+package net.binis.codegen.projection.benchmark;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.factory.CodeFactory;
+import net.binis.codegen.factory.ProjectionInstantiation;
+import net.binis.codegen.projection.provider.CodeGenProjectionProvider;
+import net.binis.codegen.projection.tools.ProjectionSettings;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of creating one projection through the generated instantiator, through reflection and through
+ * {@link CodeFactory#projection(Object, Class)}, for wrapper and hidden projection classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstantiationBenchmark {
+
+    @Param({"WRAPPER", "HIDDEN"})
+    public ProjectionSettings.Loading loading;
+
+    private ProjectionInstantiation direct;
+    private ProjectionInstantiation reflective;
+    private Entity entity;
+
+    @Setup
+    public void setUp() {
+        ProjectionSettings.setLoading(loading);
+        var provider = new Provider();
+        var constructor = provider.constructor(Entity.class, View.class);
+        direct = provider.createInstantiation(Entity.class, constructor);
+        reflective = provider.reflectiveInstantiation(Entity.class, constructor);
+        entity = new Entity();
+    }
+
+    @Benchmark
+    public Object direct() {
+        return direct.create(entity);
+    }
+
+    @Benchmark
+    public Object reflective() {
+        return reflective.create(entity);
+    }
+
+    @Benchmark
+    public Object factory() {
+        return CodeFactory.projection(entity, View.class);
+    }
+
+    public static class Provider extends CodeGenProjectionProvider {
+        public Constructor<?> constructor(Class<?> cls, Class<?>... projections) {
+            return createObject(cls, projections);
+        }
+
+        @Override
+        public ProjectionInstantiation createInstantiation(Class<?> cls, Constructor<?> c) {
+            return super.createInstantiation(cls, c);
+        }
+
+        @Override
+        public ProjectionInstantiation reflectiveInstantiation(Class<?> cls, Constructor<?> c) {
+            return super.reflectiveInstantiation(cls, c);
+        }
+    }
+
+    public interface View {
+        String getName();
+    }
+
+    public static class Entity {
+        public String getName() {
+            return "name";
+        }
+    }
+
+}
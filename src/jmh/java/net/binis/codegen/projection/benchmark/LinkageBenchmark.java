@@ -0,0 +1,95 @@
+package net.binis.codegen.projection.benchmark;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.projection.provider.CodeGenProjectionProvider;
+import net.binis.codegen.projection.tools.ProjectionSettings;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Projection classes calling their object directly and through {@code invokedynamic} call sites (see
+ * {@link ProjectionSettings#getLinkage()}). {@link #read()} is the steady state cost of calls on a projection,
+ * {@link #generate()} the cost of generating the class.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkageBenchmark {
+
+    @Param({"BYTECODE", "INVOKEDYNAMIC"})
+    public ProjectionSettings.Linkage linkage;
+
+    private CodeGenProjectionProvider provider;
+    private Class<?>[] projections;
+    private View view;
+
+    @Setup
+    public void setUp() {
+        ProjectionSettings.setLinkage(linkage);
+        provider = new CodeGenProjectionProvider();
+        projections = new Class<?>[]{View.class};
+        view = (View) provider.create(Entity.class, View.class).create(new Entity());
+    }
+
+    @TearDown
+    public void tearDown() {
+        ProjectionSettings.setLinkage(ProjectionSettings.Linkage.BYTECODE);
+    }
+
+    @Benchmark
+    public long read() {
+        return view.getValue() + view.getName().length() + view.getChildName().length();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] generate() {
+        return provider.makeProjectionClass(Entity.class, projections).getBytes();
+    }
+
+    public interface View {
+        String getName();
+
+        int getValue();
+
+        String getChildName();
+    }
+
+    public static class Entity {
+        public String getName() {
+            return "name";
+        }
+
+        public int getValue() {
+            return 5;
+        }
+
+        public Entity getChild() {
+            return this;
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package net.binis.codegen.projection.benchmark;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.projection.objects.CodeMapProxyBase;
+import net.binis.codegen.projection.provider.MapBackedProjectionProvider;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.matcher.ElementMatchers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads of a map-backed projection through the generated accessors and through
+ * {@link MapBackedProjectionProvider.MapInterceptor}, which parses the method on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapAccessorBenchmark {
+
+    private View generated;
+    private View intercepted;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        var map = Map.<String, Object>of("name", "name", "value", 5, "count", "7");
+        generated = MapBackedProjectionProvider.create(map, View.class);
+        intercepted = (View) new ByteBuddy()
+                .subclass(CodeMapProxyBase.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                .implement(View.class)
+                .defineConstructor(Visibility.PUBLIC)
+                .withParameters(Map.class)
+                .intercept(MethodCall.invoke(CodeMapProxyBase.class.getDeclaredConstructor(Map.class)).withArgument(0))
+                .method(ElementMatchers.isAbstract())
+                .intercept(MethodDelegation.to(MapBackedProjectionProvider.MapInterceptor.class))
+                .make()
+                .load(getClass().getClassLoader())
+                .getLoaded()
+                .getConstructor(Map.class)
+                .newInstance(map);
+    }
+
+    @Benchmark
+    public long generated() {
+        return read(generated);
+    }
+
+    @Benchmark
+    public long intercepted() {
+        return read(intercepted);
+    }
+
+    protected static long read(View view) {
+        return view.getValue() + view.getName().length() + view.getCount() + view.getMissing();
+    }
+
+    public interface View {
+        String getName();
+
+        int getValue();
+
+        long getCount();
+
+        int getMissing();
+    }
+
+}
@@ -0,0 +1,86 @@
+package net.binis.codegen.projection.benchmark;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.factory.ProjectionInstantiation;
+import net.binis.codegen.projection.objects.CodeProxyBase;
+import net.binis.codegen.projection.provider.CodeGenProjectionProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Projections that are created, read once and dropped. The generated projection holds its object in a typed final
+ * field, {@link UntypedView} reads it from the mutable {@link CodeProxyBase#value} field with a cast on every call,
+ * like projections used to. Run with {@code -prof gc} to see whether the projections are scalar replaced:
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="ShortLivedProjectionBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShortLivedProjectionBenchmark {
+
+    private ProjectionInstantiation instantiation;
+    private Entity entity;
+
+    @Setup
+    public void setUp() {
+        instantiation = new CodeGenProjectionProvider().create(Entity.class, View.class);
+        entity = new Entity();
+    }
+
+    @Benchmark
+    public int generated() {
+        return ((View) instantiation.create(entity)).getIndex();
+    }
+
+    @Benchmark
+    public int untyped() {
+        return new UntypedView(entity).getIndex();
+    }
+
+    public interface View {
+        int getIndex();
+    }
+
+    public static class Entity {
+        public int getIndex() {
+            return 1;
+        }
+    }
+
+    public static class UntypedView extends CodeProxyBase<Object> implements View {
+        public UntypedView(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public int getIndex() {
+            return ((Entity) value).getIndex();
+        }
+    }
+
+}
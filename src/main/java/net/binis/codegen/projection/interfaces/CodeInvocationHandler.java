@@ -0,0 +1,67 @@
+package net.binis.codegen.projection.interfaces;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+
+/**
+ * Invocation handler of generated proxies. Every call passes the index of the method within the proxy class, so
+ * handlers can dispatch on a switch instead of comparing {@link Method} instances, and primitive results can be
+ * returned without boxing by overriding the typed variants. The arguments are {@code null} for methods without
+ * parameters, same as with {@link java.lang.reflect.Proxy}.
+ */
+public interface CodeInvocationHandler extends InvocationHandler {
+
+    default Object invoke(Object proxy, int index, Method method, Object[] args) throws Throwable {
+        return invoke(proxy, method, args);
+    }
+
+    default int invokeInt(Object proxy, int index, Method method, Object[] args) throws Throwable {
+        var result = invoke(proxy, index, method, args);
+        return result instanceof Character c ? c : ((Number) result).intValue();
+    }
+
+    default long invokeLong(Object proxy, int index, Method method, Object[] args) throws Throwable {
+        return ((Number) invoke(proxy, index, method, args)).longValue();
+    }
+
+    default float invokeFloat(Object proxy, int index, Method method, Object[] args) throws Throwable {
+        return ((Number) invoke(proxy, index, method, args)).floatValue();
+    }
+
+    default double invokeDouble(Object proxy, int index, Method method, Object[] args) throws Throwable {
+        return ((Number) invoke(proxy, index, method, args)).doubleValue();
+    }
+
+    default boolean invokeBoolean(Object proxy, int index, Method method, Object[] args) throws Throwable {
+        return (Boolean) invoke(proxy, index, method, args);
+    }
+
+    /**
+     * Returns the handler when it supports indexed dispatch, {@code null} otherwise. Resolved once per proxy instance,
+     * so the generated methods only test a field instead of the handler type.
+     */
+    static CodeInvocationHandler indexed(InvocationHandler handler) {
+        return handler instanceof CodeInvocationHandler h ? h : null;
+    }
+
+}
@@ -20,8 +20,57 @@ package net.binis.codegen.projection.interfaces;
  * #L%
  */
 
+import net.binis.codegen.projection.tools.DirtyTracking;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
 public interface CodeProxyControl {
 
     <T> T _object$();
 
+    /**
+     * Replaces the projected object, so one projection instance can be reused for many objects of the same class.
+     */
+    default void _rebind$(Object object) {
+        throw new UnsupportedOperationException("Projection can't be rebound!");
+    }
+
+    /**
+     * Returns the properties written through setters since the projection was created, rebound or cleaned. Only
+     * projections generated with {@link net.binis.codegen.projection.tools.ProjectionSettings#isDirtyTracking()} track
+     * changes.
+     */
+    default Set<String> _dirty$() {
+        throw new UnsupportedOperationException("Projection doesn't track changes!");
+    }
+
+    /**
+     * Forgets the recorded changes.
+     */
+    default void _clean$() {
+        throw new UnsupportedOperationException("Projection doesn't track changes!");
+    }
+
+    /**
+     * Returns the changed properties with their current values.
+     */
+    default Map<String, Object> _changes$() {
+        return DirtyTracking.changes(this);
+    }
+
+    /**
+     * Hands the changed properties with their current values to the batch and forgets them once it returns. The batch
+     * isn't called when nothing changed. See {@link DirtyTracking#flush(Iterable, java.util.function.BiConsumer)} to
+     * coalesce the changes of many projections.
+     */
+    default void _flush$(Consumer<Map<String, Object>> batch) {
+        var changes = _changes$();
+        if (!changes.isEmpty()) {
+            batch.accept(changes);
+            _clean$();
+        }
+    }
+
 }
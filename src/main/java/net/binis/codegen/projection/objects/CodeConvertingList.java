@@ -0,0 +1,90 @@
+package net.binis.codegen.projection.objects;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.map.Mapper;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Read only view of a list converting its elements with {@link Mapper#convert(Object, Class)} on first access. Elements
+ * are converted at most once per source element and index, so repeated and partial iteration only pay for the
+ * elements they touch. The size and the elements are read from the source list on every call, so the view follows
+ * later changes of the source list: a different element at an index is converted when it is read.
+ * <p>
+ * Not synchronized, concurrent readers may convert the same element more than once.
+ */
+@SuppressWarnings("unchecked")
+public class CodeConvertingList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final List<?> source;
+    private final Class<E> element;
+    private Converted[] values;
+
+    public CodeConvertingList(List<?> source, Class<E> element) {
+        this.source = source;
+        this.element = element;
+        this.values = new Converted[source.size()];
+    }
+
+    /**
+     * Returns the memoized view when it still wraps the value, a new view of the value otherwise.
+     */
+    public static Object of(Object memo, Object value, Class<?> element) {
+        if (memo instanceof CodeConvertingList<?> list && list.source == value) {
+            return memo;
+        }
+        if (value instanceof List<?> list) {
+            return new CodeConvertingList<>(list, element);
+        }
+        return Mapper.convert(value, List.class);
+    }
+
+    @Override
+    public E get(int index) {
+        var original = source.get(index);
+        var memo = values;
+        if (index >= memo.length) {
+            memo = Arrays.copyOf(memo, Math.max(index + 1, source.size()));
+            values = memo;
+        }
+        var converted = memo[index];
+        if (isNull(converted) || converted.source() != original) {
+            converted = new Converted(original, Mapper.convert(original, element));
+            memo[index] = converted;
+        }
+        return (E) converted.value();
+    }
+
+    @Override
+    public int size() {
+        return source.size();
+    }
+
+    private record Converted(Object source, Object value) {
+    }
+
+}
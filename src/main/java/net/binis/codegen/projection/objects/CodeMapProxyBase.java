@@ -0,0 +1,78 @@
+package net.binis.codegen.projection.objects;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.projection.tools.ProjectionSettings;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Base of map-backed projections. Equality, the hash code and {@code toString} delegate to the map. With
+ * {@link ProjectionSettings#isMapHashCache()} the hash code is cached when the map is one of the JDK immutable maps,
+ * which is only correct while the values held by the map are not mutated either.
+ */
+public class CodeMapProxyBase extends CodeProxyBase<Map<String, Object>> {
+
+    private static final Set<Class<?>> IMMUTABLE = Set.of(
+            Map.of("", "").getClass(),
+            Map.of("", "", " ", "").getClass(),
+            Collections.emptyMap().getClass(),
+            Collections.singletonMap("", "").getClass());
+
+    private final boolean cached;
+    private int hash;
+
+    public CodeMapProxyBase(Map<String, Object> map) {
+        this.value = map;
+        this.cached = ProjectionSettings.isMapHashCache() && IMMUTABLE.contains(map.getClass());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T _object$() {
+        return (T) value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || targetEquals(value, o);
+    }
+
+    @Override
+    public int hashCode() {
+        if (!cached) {
+            return value.hashCode();
+        }
+        var h = hash;
+        if (h == 0) {
+            h = value.hashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return value.toString();
+    }
+
+}
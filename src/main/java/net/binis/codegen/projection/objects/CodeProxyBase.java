@@ -20,11 +20,19 @@ package net.binis.codegen.projection.objects;
  * #L%
  */
 
+import net.binis.codegen.projection.interfaces.CodeProxyControl;
+import net.binis.codegen.projection.tools.NestedProjectionSite;
+
+import java.util.Objects;
+
 public class CodeProxyBase<T>  {
 
     protected transient T value;
 
     public static Object unwrap(Object instance) {
+        if (instance instanceof CodeProxyControl control) {
+            return control._object$();
+        }
         if (instance instanceof CodeProxyBase base) {
             return base.value;
         }
@@ -32,4 +40,21 @@ public class CodeProxyBase<T>  {
         return instance;
     }
 
+    /**
+     * Equality of generated projections: the other object is equal when it is a projection of an equal object.
+     */
+    public static boolean targetEquals(Object target, Object other) {
+        return (other instanceof CodeProxyControl || other instanceof CodeProxyBase) && Objects.equals(target, unwrap(other));
+    }
+
+    /**
+     * Returns the memoized nested projection while it still wraps the same object, otherwise projects the value again.
+     */
+    public static Object nested(Object memo, Object value, NestedProjectionSite site) {
+        if (value != null && memo instanceof CodeProxyControl control && control._object$() == value) {
+            return memo;
+        }
+        return site.project(value);
+    }
+
 }
@@ -27,33 +27,50 @@ import net.binis.codegen.factory.ProjectionProvider;
 import net.binis.codegen.factory.ProxyProvider;
 import net.binis.codegen.objects.Pair;
 import net.binis.codegen.projection.exception.ProjectionCreationException;
+import net.binis.codegen.projection.interfaces.CodeInvocationHandler;
 import net.binis.codegen.projection.interfaces.CodeProxyControl;
 import net.binis.codegen.projection.objects.CodeMethodImplementation;
 import net.binis.codegen.projection.objects.CodeProjectionProxyList;
 import net.binis.codegen.projection.objects.CodeProjectionProxySet;
 import net.binis.codegen.projection.objects.CodeProxyBase;
-import net.binis.codegen.tools.Reflection;
+import net.binis.codegen.projection.tools.ConversionSite;
+import net.binis.codegen.projection.tools.DirtyTrackingClassBuilder;
+import net.binis.codegen.projection.tools.NestedProjectionSite;
+import net.binis.codegen.projection.tools.ProjectionBytecodeCache;
+import net.binis.codegen.projection.tools.ProjectionClassBuilder;
+import net.binis.codegen.projection.tools.ProjectionClassCache;
+import net.binis.codegen.projection.tools.ProjectionClassDefiner;
+import net.binis.codegen.projection.tools.ProjectionClassGenerator;
+import net.binis.codegen.projection.tools.ProjectionIdentityCache;
+import net.binis.codegen.projection.tools.ProjectionLinker;
+import net.binis.codegen.projection.tools.ProjectionSettings;
+import net.binis.codegen.projection.tools.ProjectionTools;
+import net.binis.codegen.projection.tools.PropertyIndex;
+import net.binis.codegen.projection.tools.ProxyMethodTable;
 import net.bytebuddy.ByteBuddy;
-import net.bytebuddy.asm.AsmVisitorWrapper;
-import net.bytebuddy.description.field.FieldDescription;
-import net.bytebuddy.description.field.FieldList;
 import net.bytebuddy.description.method.MethodDescription;
-import net.bytebuddy.description.method.MethodList;
 import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.description.type.TypeDefinition;
-import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
 import net.bytebuddy.implementation.Implementation;
-import net.bytebuddy.implementation.InvocationHandlerAdapter;
 import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
 import net.bytebuddy.jar.asm.*;
 import net.bytebuddy.jar.asm.Type;
-import net.bytebuddy.matcher.ElementMatchers;
-import net.bytebuddy.pool.TypePool;
 
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.*;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
@@ -65,7 +82,52 @@ public class CodeGenProjectionProvider implements ProjectionProvider, ProxyProvi
     protected static final String PROXY_BASE = "net/binis/codegen/projection/objects/CodeProxyBase";
     public static final String OBJECT_DESC = "Ljava/lang/Object;";
     public static final String FIELD_NAME = "value";
-    protected static final Map<Class, Class> proxies = new ConcurrentHashMap<>();
+    public static final String TARGET_FIELD_NAME = "target$";
+    public static final String REBINDABLE_SUFFIX = "$Rebindable";
+    public static final String ASM_SUFFIX = "$Asm";
+    public static final String LINKED_SUFFIX = "$Linked";
+    public static final String TRACKED_SUFFIX = "$Tracked";
+    public static final String INSTANTIATOR_SUFFIX = "$Instantiator";
+    public static final String NESTED_FIELD_PREFIX = "nested$";
+    protected static final String SITE = "net/binis/codegen/projection/tools/NestedProjectionSite";
+    protected static final String SITE_DESC = "L" + SITE + ";";
+    protected static final String CONVERSION = "net/binis/codegen/projection/tools/ConversionSite";
+    protected static final String CONVERSION_DESC = "L" + CONVERSION + ";";
+    protected static final String HANDLER = "net/binis/codegen/projection/interfaces/CodeInvocationHandler";
+    protected static final String HANDLER_DESC = "L" + HANDLER + ";";
+    protected static final String INVOCATION_HANDLER = "java/lang/reflect/InvocationHandler";
+    protected static final String INVOCATION_HANDLER_DESC = "L" + INVOCATION_HANDLER + ";";
+    public static final String HANDLER_FIELD_NAME = "handler$";
+    public static final String INDEXED_FIELD_NAME = "indexed$";
+    public static final String METHODS_FIELD_NAME = "methods$";
+    public static final String PROXY_SUFFIX = "$Proxy";
+    protected static final Handle LINKER_BOOTSTRAP = new Handle(Opcodes.H_INVOKESTATIC, "net/binis/codegen/projection/tools/ProjectionLinker", ProjectionLinker.BOOTSTRAP,
+            "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/invoke/MethodType;Ljava/lang/Class;)Ljava/lang/invoke/CallSite;", false);
+    public static final String PROJECTION_PACKAGE = "net.binis.projection";
+    protected static final ProjectionClassCache proxies = new ProjectionClassCache();
+    protected static final ProjectionClassCache projectionClasses = new ProjectionClassCache();
+    protected static final ProjectionClassCache rebindableClasses = new ProjectionClassCache();
+    protected static final ProjectionClassCache instantiators = new ProjectionClassCache();
+    protected final ClassValue<ProjectionInstantiation> proxyInstantiations = new ClassValue<>() {
+        @Override
+        protected ProjectionInstantiation computeValue(Class<?> type) {
+            try {
+                return createInstantiation(type, type.getConstructor(InvocationHandler.class));
+            } catch (NoSuchMethodException e) {
+                throw new ProjectionCreationException("Unable to find constructor for proxy class: " + type.getCanonicalName(), e);
+            }
+        }
+    };
+    /**
+     * Instantiations of single-type proxies held on the proxied type itself, so {@link #proxy(Class, InvocationHandler)}
+     * doesn't go through the {@link #proxies} cache on every call.
+     */
+    protected final ClassValue<ProjectionInstantiation> singleProxies = new ClassValue<>() {
+        @Override
+        protected ProjectionInstantiation computeValue(Class<?> type) {
+            return warmUpProxy(type);
+        }
+    };
 
 
     static {
@@ -76,72 +138,447 @@ public class CodeGenProjectionProvider implements ProjectionProvider, ProxyProvi
 
     @Override
     public ProjectionInstantiation create(Class<?> cls, Class<?>... projections) {
-        var c = createObject(cls, projections);
-        return o -> {
+        var instantiation = createInstantiation(cls, createObject(cls, projections));
+        return ProjectionSettings.isIdentityCache() ? new ProjectionIdentityCache(instantiation) : instantiation;
+    }
+
+    /**
+     * Defines a small {@link ProjectionInstantiation} class next to the projection class, so projections are created
+     * with a plain {@code new}. Hidden classes can't be referenced by name, so their constructor is invoked through a
+     * method handle instead. Falls back to a {@link ReflectiveInstantiation} when the projection class can't be linked
+     * either way.
+     */
+    protected ProjectionInstantiation createInstantiation(Class<?> cls, Constructor<?> c) {
+        try {
+            var lookup = MethodHandles.privateLookupIn(c.getDeclaringClass(), MethodHandles.lookup());
+            if (c.getDeclaringClass().isHidden()) {
+                var handle = lookup.unreflectConstructor(c).asType(MethodType.methodType(Object.class, Object.class));
+                return o -> {
+                    try {
+                        return handle.invokeExact(o);
+                    } catch (Throwable e) {
+                        throw new ProjectionCreationException("Unable to create projection for class: " + cls.getCanonicalName(), e instanceof Exception ex ? ex : new RuntimeException(e));
+                    }
+                };
+            }
+
+            var instantiator = instantiators.get(() -> defineInstantiator(lookup, cls, c), c.getDeclaringClass());
+            return (ProjectionInstantiation) instantiator.getDeclaredConstructor().newInstance();
+        } catch (Throwable e) {
+            log.warn("Unable to bind constructor of {}, falling back to reflection", c.getDeclaringClass().getName(), e);
+            return reflectiveInstantiation(cls, c);
+        }
+    }
+
+    protected static Class<?> defineInstantiator(MethodHandles.Lookup lookup, Class<?> cls, Constructor<?> c) {
+        var name = c.getDeclaringClass().getName() + INSTANTIATOR_SUFFIX;
+        try {
+            return lookup.defineClass(makeInstantiator(name, cls, c));
+        } catch (LinkageError e) {
             try {
-                return c.newInstance(o);
-            } catch (Exception e) {
-                throw new ProjectionCreationException("Unable to create projection for class: " + cls.getCanonicalName(), e);
+                return lookup.findClass(name);
+            } catch (ReflectiveOperationException ex) {
+                throw e;
             }
-        };
+        } catch (IllegalAccessException e) {
+            throw new ProjectionCreationException("Unable to define instantiator for class: " + cls.getCanonicalName(), e);
+        }
+    }
+
+    protected static byte[] makeInstantiator(String name, Class<?> cls, Constructor<?> c) {
+        var sam = Arrays.stream(ProjectionInstantiation.class.getMethods()).filter(m -> Modifier.isAbstract(m.getModifiers())).findFirst().orElseThrow();
+        var owner = name.replace('.', '/');
+        var projection = Type.getInternalName(c.getDeclaringClass());
+
+        var cw = new ClassWriter(0);
+        cw.visit(Opcodes.V11, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, owner, null, "java/lang/Object", new String[]{Type.getInternalName(ProjectionInstantiation.class)});
+
+        var mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(1, 1);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, sam.getName(), Type.getMethodDescriptor(sam), null, null);
+        mv.visitCode();
+        mv.visitTypeInsn(Opcodes.NEW, projection);
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(c.getParameterTypes()[0]));
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, projection, "<init>", Type.getConstructorDescriptor(c), false);
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(3, 2);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    protected ProjectionInstantiation reflectiveInstantiation(Class<?> cls, Constructor<?> c) {
+        return new ReflectiveInstantiation(cls, c);
     }
 
     protected Constructor<?> createObject(Class<?> cls, Class<?>[] projections) {
         try {
-            return createProjectionClass(cls, projections).getDeclaredConstructor(cls);
+            return getProjectionClass(cls, projections).getDeclaredConstructor(cls);
         } catch (NoSuchMethodException e) {
             throw new ProjectionCreationException("Unable to find constructor for proxy class: " + cls.getCanonicalName(), e);
         }
     }
 
-    protected Class<?> createProjectionClass(Class<?> cls, Class<?>[] projections) {
-        var implement = new ArrayList<>(Arrays.asList(projections));
+    /**
+     * Creates a projection of the class that isn't bound to any object yet. Bind it with
+     * {@link CodeProxyControl#_rebind$(Object)}.
+     */
+    public <T> T rebindable(Class<?> cls, Class<T> projection) {
+        try {
+            return projection.cast(getProjectionClass(cls, new Class<?>[]{projection}, true).getDeclaredConstructor(cls).newInstance((Object) null));
+        } catch (ReflectiveOperationException e) {
+            throw new ProjectionCreationException("Unable to create projection for class: " + cls.getCanonicalName(), e);
+        }
+    }
+
+    /**
+     * Passes a projection of every object to the consumer, rebinding one projection instance per object class instead
+     * of allocating one per object. The projection is only valid until the consumer returns and must not be kept. The
+     * projections are unbound once the iteration ends, even when the consumer throws.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void forEachProjected(Iterable<?> objects, Class<T> projection, Consumer<? super T> consumer) {
+        var flyweights = new HashMap<Class<?>, CodeProxyControl>();
+        Class<?> type = null;
+        CodeProxyControl flyweight = null;
+        try {
+            for (var o : objects) {
+                if (isNull(o)) {
+                    consumer.accept(null);
+                    continue;
+                }
+                if (o.getClass() != type) {
+                    type = o.getClass();
+                    flyweight = CodeFactory.isCustomProxyClass(type) ? null : flyweights.computeIfAbsent(type, c -> (CodeProxyControl) rebindable(c, projection));
+                }
+                if (isNull(flyweight)) {
+                    consumer.accept(CodeFactory.projection(o, projection));
+                } else {
+                    flyweight._rebind$(o);
+                    consumer.accept((T) flyweight);
+                }
+            }
+        } finally {
+            flyweights.values().forEach(f -> f._rebind$(null));
+        }
+    }
+
+    /**
+     * Projects every object of the list, resolving the instantiation once per object class. Lists longer than
+     * {@link ProjectionSettings#getParallelThreshold()} are split across the current fork join pool, or the common pool
+     * when not called from one.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> projectAll(List<?> objects, Class<T> projection) {
+        return Arrays.asList(projectAll(objects, projection, (T[]) Array.newInstance(projection, objects.size())));
+    }
+
+    /**
+     * Same as {@link #projectAll(List, Class)}, filling the given array, which must be at least as long as the list.
+     */
+    public <T> T[] projectAll(List<?> objects, Class<T> projection, T[] result) {
+        if (result.length < objects.size()) {
+            throw new IllegalArgumentException("Result array is shorter than the list!");
+        }
+
+        var source = objects instanceof RandomAccess ? objects : new ArrayList<>(objects);
+        var task = new ProjectAll(source, projection, result, new ConcurrentHashMap<>(), 0, source.size(), ProjectionSettings.getParallelThreshold());
+        if (task.threshold <= 0 || source.size() <= task.threshold) {
+            task.compute();
+        } else if (ForkJoinTask.inForkJoinPool()) {
+            task.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+        return result;
+    }
+
+    protected ProjectionInstantiation bulkInstantiation(Class<?> cls, Class<?> projection) {
+        return CodeFactory.isCustomProxyClass(cls) ? o -> CodeFactory.projection(o, projection) : create(cls, projection);
+    }
+
+    /**
+     * Generates the classes of all given projections in parallel and returns the generation time of each of them.
+     * Fails on the first projection that can't be generated.
+     */
+    public Map<String, Duration> warmUp(Collection<Pair<Class<?>, Class<?>[]>> projections) {
+        var start = System.nanoTime();
+        var timings = new ConcurrentHashMap<String, Duration>();
+        var failure = new CompletableFuture<Void>();
+        var tasks = projections.stream()
+                .map(p -> CompletableFuture.runAsync(() -> {
+                    var s = System.nanoTime();
+                    if (Map.class.isAssignableFrom(p.getKey())) {
+                        MapBackedProjectionProvider.warmUp(p.getValue());
+                    } else {
+                        createObject(p.getKey(), p.getValue());
+                    }
+                    timings.put(getProjectionClassName(p.getKey(), p.getValue()), Duration.ofNanos(System.nanoTime() - s));
+                }, ForkJoinPool.commonPool()).whenComplete((r, e) -> {
+                    if (nonNull(e)) {
+                        failure.completeExceptionally(e);
+                    }
+                }))
+                .toArray(CompletableFuture[]::new);
+
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(tasks), failure).join();
+        } catch (CompletionException e) {
+            for (var task : tasks) {
+                task.cancel(false);
+            }
+            throw new ProjectionCreationException("Projection warm up failed!", e.getCause() instanceof Exception ex ? ex : e);
+        }
+
+        log.info("Warmed up {} projections in {}ms", timings.size(), (System.nanoTime() - start) / 1_000_000);
+        return timings;
+    }
+
+    /**
+     * Warms up the projections declared in {@value ProjectionClassGenerator#DECLARATIONS} resources.
+     */
+    public Map<String, Duration> warmUp(ClassLoader loader) {
+        try {
+            return warmUp(ProjectionClassGenerator.readDeclarations(loader));
+        } catch (IOException e) {
+            throw new ProjectionCreationException("Unable to read projection declarations!", e);
+        }
+    }
+
+    /**
+     * Warms up every interface found in the package (and its sub packages) as a projection of each of the targets.
+     */
+    public Map<String, Duration> warmUp(String packageName, Class<?>... targets) {
+        try {
+            var projections = new ArrayList<Pair<Class<?>, Class<?>[]>>();
+            for (var intf : ProjectionTools.findInterfaces(Thread.currentThread().getContextClassLoader(), packageName)) {
+                for (var target : targets) {
+                    projections.add(Pair.of(target, new Class<?>[]{intf}));
+                }
+            }
+            return warmUp(projections);
+        } catch (IOException e) {
+            throw new ProjectionCreationException("Unable to scan package: " + packageName, e);
+        }
+    }
+
+    protected Class<?> getProjectionClass(Class<?> cls, Class<?>[] projections) {
+        return projectionClasses.get(() -> createProjectionClass(cls, projections, false), getProjectionClassKey(cls, projections));
+    }
+
+    protected Class<?> getProjectionClass(Class<?> cls, Class<?>[] projections, boolean rebindable) {
+        if (!rebindable) {
+            return getProjectionClass(cls, projections);
+        }
+        return rebindableClasses.get(() -> createProjectionClass(cls, projections, true), getProjectionClassKey(cls, projections));
+    }
+
+    protected static Object[] getProjectionClassKey(Class<?> cls, Class<?>[] projections) {
+        var key = new Object[projections.length + 2];
+        key[0] = cls;
+        System.arraycopy(projections, 0, key, 1, projections.length);
+        key[key.length - 1] = getVariantSuffix();
+        return key;
+    }
+
+    /**
+     * Suffix of classes generated with non-default settings, so they never share a name or a cache entry with the
+     * classes generated with the defaults.
+     */
+    public static String getVariantSuffix() {
+        return (ProjectionSettings.getBackend() == ProjectionSettings.Backend.ASM ? ASM_SUFFIX : "")
+                + (ProjectionSettings.getLinkage() == ProjectionSettings.Linkage.INVOKEDYNAMIC ? LINKED_SUFFIX : "")
+                + (ProjectionSettings.isDirtyTracking() ? TRACKED_SUFFIX : "");
+    }
+
+    protected Class<?> createProjectionClass(Class<?> cls, Class<?>[] projections, boolean rebindable) {
+        var loader = nonNull(cls.getClassLoader()) ? cls.getClassLoader() : this.getClass().getClassLoader();
+        if (ProjectionSettings.isPregenerated() && !rebindable) {
+            var pregenerated = loadPregeneratedClass(loader, cls, projections);
+            if (nonNull(pregenerated)) {
+                return pregenerated;
+            }
+        }
+
+        var lookup = ProjectionClassDefiner.lookup(cls, projections[0]);
+        var name = (nonNull(lookup) ? getProjectionClassName(lookup.lookupClass().getPackageName(), cls, projections) : getProjectionClassName(cls, projections)) + getVariantSuffix() + (rebindable ? REBINDABLE_SUFFIX : "");
+        return ProjectionClassDefiner.define(lookup, loader, name, () -> makeProjectionClass(cls, projections, name, rebindable));
+    }
+
+    public DynamicType.Unloaded<?> makeProjectionClass(Class<?> cls, Class<?>[] projections) {
+        return makeProjectionClass(cls, projections, getProjectionClassName(cls, projections) + getVariantSuffix());
+    }
+
+    public DynamicType.Unloaded<?> makeProjectionClass(Class<?> cls, Class<?>[] projections, String name) {
+        return makeProjectionClass(cls, projections, name, false);
+    }
+
+    /**
+     * Generates a final projection class holding the projected object in a typed field, which is final unless the
+     * class is rebindable (see {@link CodeProxyControl#_rebind$(Object)}).
+     */
+    public DynamicType.Unloaded<?> makeProjectionClass(Class<?> cls, Class<?>[] projections, String name, boolean rebindable) {
+        var implement = new ArrayList<Class<?>>(Arrays.asList(projections));
         implement.add(CodeProxyControl.class);
         var desc = TypeDefinition.Sort.describe(cls).getActualName().replace('.', '/');
-        var objectName = "net.binis.projection." + cls.getSimpleName();
-        for (var p : projections) {
-            objectName += "$" + p.getSimpleName();
-        }
+        var targetDesc = "L" + desc + ";";
+        ProjectionBytecodeCache.dependsOn(cls);
 
-        DynamicType.Builder<?> type = new ByteBuddy()
-                .subclass(CodeProxyBase.class)
-                .visit(new EnableFramesComputing())
-                .name(objectName)
-                .implement(implement)
-                .defineConstructor(Opcodes.ACC_PUBLIC).withParameter(cls).intercept(new CodeMethodImplementation() {
+        var type = ProjectionClassBuilder.create(name, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL, CodeProxyBase.class, implement)
+                .defineField(TARGET_FIELD_NAME, cls, Opcodes.ACC_PRIVATE | (rebindable ? 0 : Opcodes.ACC_FINAL));
+        if (ProjectionSettings.isDirtyTracking()) {
+            type = new DirtyTrackingClassBuilder(type);
+        }
+        var owner = type.getInternalName();
+        type = type
+                .defineConstructor(new Class<?>[]{cls}, new CodeMethodImplementation() {
                     @Override
                     public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
                         methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
                         methodVisitor.visitMethodInsn(Opcodes.INVOKESPECIAL, PROXY_BASE, "<init>", "()V", false);
                         methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
                         methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
-                        methodVisitor.visitFieldInsn(Opcodes.PUTFIELD, PROXY_BASE, FIELD_NAME, OBJECT_DESC);
+                        methodVisitor.visitFieldInsn(Opcodes.PUTFIELD, owner, TARGET_FIELD_NAME, targetDesc);
                         methodVisitor.visitInsn(Opcodes.RETURN);
                         return new ByteCodeAppender.Size(2, 2);
                     }
                 })
-                .defineMethod("_object$", Object.class, Opcodes.ACC_PUBLIC).intercept(new CodeMethodImplementation() {
+                .defineMethod("_object$", Object.class, new Class<?>[0], new CodeMethodImplementation() {
                     @Override
                     public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
                         methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
-                        methodVisitor.visitFieldInsn(Opcodes.GETFIELD, PROXY_BASE, FIELD_NAME, OBJECT_DESC);
+                        methodVisitor.visitFieldInsn(Opcodes.GETFIELD, owner, TARGET_FIELD_NAME, targetDesc);
                         methodVisitor.visitInsn(Opcodes.ARETURN);
                         return new ByteCodeAppender.Size(1, 1);
                     }
                 });
 
+        if (rebindable) {
+            type = type.defineMethod("_rebind$", void.class, new Class<?>[]{Object.class}, new CodeMethodImplementation() {
+                @Override
+                public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+                    methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                    methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+                    methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, desc);
+                    methodVisitor.visitFieldInsn(Opcodes.PUTFIELD, owner, TARGET_FIELD_NAME, targetDesc);
+                    methodVisitor.visitInsn(Opcodes.RETURN);
+                    return new ByteCodeAppender.Size(2, 2);
+                }
+            });
+        }
+
         var methods = new HashMap<String, List<Class<?>[]>>();
+        type = handleObjectMethods(type, targetDesc, methods);
+        var linked = ProjectionSettings.getLinkage() == ProjectionSettings.Linkage.INVOKEDYNAMIC && !Map.class.isAssignableFrom(cls);
         for (var p : projections) {
             type = type.annotateType(p.getDeclaredAnnotations());
-            type = handleInterface(type, cls, p, desc, methods);
+            type = linked ? handleLinkedInterface(type, cls, p, desc, methods) : handleInterface(type, cls, p, desc, methods);
         }
 
-        return type.make()
-                .load(nonNull(cls.getClassLoader()) ? cls.getClassLoader() : this.getClass().getClassLoader())
-                .getLoaded();
+        return type.make();
+    }
+
+    /**
+     * Delegates {@code equals}, {@code hashCode} and {@code toString} to the projected object. Other projections are
+     * unwrapped before comparing, so projections of the same object are equal.
+     */
+    protected ProjectionClassBuilder handleObjectMethods(ProjectionClassBuilder type, String targetDesc, Map<String, List<Class<?>[]>> methods) {
+        var owner = type.getInternalName();
+        methods.computeIfAbsent("equals", k -> new ArrayList<>()).add(new Class<?>[]{Object.class});
+        methods.computeIfAbsent("hashCode", k -> new ArrayList<>()).add(new Class<?>[0]);
+        methods.computeIfAbsent("toString", k -> new ArrayList<>()).add(new Class<?>[0]);
+        return type
+                .defineMethod("equals", boolean.class, new Class<?>[]{Object.class}, new CodeMethodImplementation() {
+                    @Override
+                    public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+                        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                        methodVisitor.visitFieldInsn(Opcodes.GETFIELD, owner, TARGET_FIELD_NAME, targetDesc);
+                        methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+                        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, PROXY_BASE, "targetEquals", "(Ljava/lang/Object;Ljava/lang/Object;)Z", false);
+                        methodVisitor.visitInsn(Opcodes.IRETURN);
+                        return new ByteCodeAppender.Size(2, 2);
+                    }
+                })
+                .defineMethod("hashCode", int.class, new Class<?>[0], new CodeMethodImplementation() {
+                    @Override
+                    public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+                        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                        methodVisitor.visitFieldInsn(Opcodes.GETFIELD, owner, TARGET_FIELD_NAME, targetDesc);
+                        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Objects", "hashCode", "(Ljava/lang/Object;)I", false);
+                        methodVisitor.visitInsn(Opcodes.IRETURN);
+                        return new ByteCodeAppender.Size(1, 1);
+                    }
+                })
+                .defineMethod("toString", String.class, new Class<?>[0], new CodeMethodImplementation() {
+                    @Override
+                    public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+                        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                        methodVisitor.visitFieldInsn(Opcodes.GETFIELD, owner, TARGET_FIELD_NAME, targetDesc);
+                        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/String", "valueOf", "(Ljava/lang/Object;)Ljava/lang/String;", false);
+                        methodVisitor.visitInsn(Opcodes.ARETURN);
+                        return new ByteCodeAppender.Size(1, 1);
+                    }
+                });
+    }
+
+    public static String getProjectionClassName(Class<?> cls, Class<?>[] projections) {
+        return getProjectionClassName(PROJECTION_PACKAGE, cls, projections);
     }
 
-    protected DynamicType.Builder<?> handleInterface(DynamicType.Builder<?> type, Class<?> cls, Class<?> intf, String desc, Map<String, List<Class<?>[]>> methods) {
+    public static String getProjectionClassName(String packageName, Class<?> cls, Class<?>[] projections) {
+        var objectName = new StringBuilder(packageName);
+        if (!packageName.isEmpty()) {
+            objectName.append('.');
+        }
+        objectName.append(cls.getSimpleName());
+        for (var p : projections) {
+            objectName.append('$').append(p.getSimpleName());
+        }
+        return objectName.toString();
+    }
+
+    protected Class<?> loadPregeneratedClass(ClassLoader loader, Class<?> cls, Class<?>[] projections) {
+        var name = getProjectionClassName(cls, projections) + getVariantSuffix();
+        try {
+            var result = Class.forName(name, false, loader);
+            if (isProjectionClass(result, cls, projections)) {
+                return result;
+            }
+            log.warn("Ignoring pregenerated class {} as it is not a projection of {}", name, cls.getCanonicalName());
+        } catch (ClassNotFoundException e) {
+            //Not pregenerated
+        }
+        return null;
+    }
+
+    protected boolean isProjectionClass(Class<?> result, Class<?> cls, Class<?>[] projections) {
+        if (!CodeProxyControl.class.isAssignableFrom(result)) {
+            return false;
+        }
+        for (var p : projections) {
+            if (!p.isAssignableFrom(result)) {
+                return false;
+            }
+        }
+        try {
+            result.getDeclaredConstructor(cls);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    protected ProjectionClassBuilder handleInterface(ProjectionClassBuilder type, Class<?> cls, Class<?> intf, String desc, Map<String, List<Class<?>[]>> methods) {
+        ProjectionBytecodeCache.dependsOn(intf);
         for (var mtd : intf.getDeclaredMethods()) {
             if ((mtd.getModifiers() & Modifier.STATIC) == 0) {
                 type = handleMethod(type, cls, mtd, desc, methods);
@@ -155,26 +592,68 @@ public class CodeGenProjectionProvider implements ProjectionProvider, ProxyProvi
         return type;
     }
 
-    protected DynamicType.Builder<?> handleMethod(DynamicType.Builder<?> type, Class<?> cls, Method mtd, String desc, Map<String, List<Class<?>[]>> methods) {
+    /**
+     * Defines the projection methods as {@code invokedynamic} call sites linked by {@link ProjectionLinker}. Default
+     * methods are only overridden when the projected class resolves them, the rest is resolved on first call.
+     */
+    protected ProjectionClassBuilder handleLinkedInterface(ProjectionClassBuilder type, Class<?> cls, Class<?> intf, String desc, Map<String, List<Class<?>[]>> methods) {
+        ProjectionBytecodeCache.dependsOn(intf);
+        for (var mtd : intf.getDeclaredMethods()) {
+            if ((mtd.getModifiers() & Modifier.STATIC) == 0) {
+                var types = mtd.getParameterTypes();
+                if ((!mtd.isDefault() || isResolvable(cls, mtd.getName(), types)) && !methodExists(methods, mtd, types)) {
+                    type = handleLinkedMethod(type, mtd, desc, types, mtd.getReturnType());
+                }
+            }
+        }
+
+        for (var i : intf.getInterfaces()) {
+            type = handleLinkedInterface(type, cls, i, desc, methods);
+        }
+
+        return type;
+    }
+
+    protected boolean isResolvable(Class<?> cls, String name, Class<?>[] types) {
+        return nonNull(findMethod(cls, name, types)) || findStartMethod(cls, name, types, new ArrayDeque<>())
+                || (name.startsWith("is") && findStartMethod(cls, name.replaceFirst("is", "get"), types, new ArrayDeque<>()));
+    }
+
+    protected ProjectionClassBuilder handleLinkedMethod(ProjectionClassBuilder type, Method mtd, String desc, Class<?>[] types, Class<?> ret) {
+        var descriptor = "(" + OBJECT_DESC + calcDescriptor(types, ret).substring(1);
+        var nested = ret.isInterface() ? defineNested(type, mtd, types) : type;
+        return nested.defineMethod(mtd.getName(), ret, types, new CodeMethodImplementation() {
+            @Override
+            public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                var offset = loadParams(methodVisitor, types);
+                methodVisitor.visitInvokeDynamicInsn(mtd.getName(), descriptor, LINKER_BOOTSTRAP, Type.getType(mtd.getDeclaringClass()));
+                methodVisitor.visitInsn(getReturnOpcode(ret).getKey());
+                return new ByteCodeAppender.Size(Math.max(offset, getStackSize(ret)), offset);
+            }
+        }, mtd.getDeclaredAnnotations());
+    }
+
+    protected ProjectionClassBuilder handleMethod(ProjectionClassBuilder type, Class<?> cls, Method mtd, String desc, Map<String, List<Class<?>[]>> methods) {
         var types = mtd.getParameterTypes();
         var ret = mtd.getReturnType();
         if (!methodExists(methods, mtd, types)) {
             var isVoid = void.class.equals(ret);
-            try {
-                if (Map.class.isAssignableFrom(cls)) {
-                    type = handleMapMethod(type, mtd, desc, types, ret);
-                } else {
-                    var m = findMethod(cls, mtd.getName(), types);
+            if (Map.class.isAssignableFrom(cls)) {
+                type = handleMapMethod(type, mtd, desc, types, ret);
+            } else {
+                var m = findMethod(cls, mtd.getName(), types);
+                if (nonNull(m)) {
                     type = handleDeclaredMethod(type, mtd, m, desc, types, ret);
-                }
-            } catch (NoSuchMethodException e) {
-                var t = checkPath(type, cls, mtd, desc, types, ret, isVoid);
-                if (isNull(t)) {
-                    if (!mtd.isDefault()) {
-                        type = handleUndeclaredMethod(type, mtd, types, ret, isVoid);
-                    }
                 } else {
-                    type = t;
+                    var t = checkPath(type, cls, mtd, desc, types, ret, isVoid);
+                    if (isNull(t)) {
+                        if (!mtd.isDefault()) {
+                            type = handleUndeclaredMethod(type, mtd, types, ret, isVoid);
+                        }
+                    } else {
+                        type = t;
+                    }
                 }
             }
         }
@@ -182,23 +661,22 @@ public class CodeGenProjectionProvider implements ProjectionProvider, ProxyProvi
         return type;
     }
 
-    protected DynamicType.Builder<?> handleUndeclaredMethod(DynamicType.Builder<?> type, Method mtd, Class<?>[] types, Class<?> ret, boolean isVoid) {
+    protected ProjectionClassBuilder handleUndeclaredMethod(ProjectionClassBuilder type, Method mtd, Class<?>[] types, Class<?> ret, boolean isVoid) {
         log.info("Handle undeclared method: {}", mtd.toString());
-        return type.defineMethod(mtd.getName(), ret, Opcodes.ACC_PUBLIC).withParameters(types).intercept(new CodeMethodImplementation() {
+        return type.defineMethod(mtd.getName(), ret, types, new CodeMethodImplementation() {
             @Override
             public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
                 if (isVoid) {
                     methodVisitor.visitInsn(Opcodes.RETURN);
-                    return new ByteCodeAppender.Size(0, types.length + 1);
                 } else {
                     defaultReturn(methodVisitor, ret);
-                    return new ByteCodeAppender.Size(1 + (ret.isPrimitive() ? 1 : 0), types.length + 1);
                 }
+                return new ByteCodeAppender.Size(getStackSize(ret), 1 + loadOffset(types));
             }
-        }).annotateMethod(mtd.getDeclaredAnnotations());
+        }, mtd.getDeclaredAnnotations());
     }
 
-    protected DynamicType.Builder<?> handleDeclaredMethod(DynamicType.Builder<?> type, Method mtd, Method m, String desc, Class<?>[] types, Class<?> ret) {
+    protected ProjectionClassBuilder handleDeclaredMethod(ProjectionClassBuilder type, Method mtd, Method m, String desc, Class<?>[] types, Class<?> ret) {
         if (CodeFactory.isCustomProxyClass(mtd.getReturnType())) {
             if (mtd.getGenericReturnType() instanceof ParameterizedType mtdType && m.getGenericReturnType() instanceof ParameterizedType mType) {
                 var generics = mtdType.getActualTypeArguments();
@@ -212,12 +690,10 @@ public class CodeGenProjectionProvider implements ProjectionProvider, ProxyProvi
             return handleProjection(type, mtd, m, desc, types, ret);
         }
 
-        return type.defineMethod(mtd.getName(), ret, Opcodes.ACC_PUBLIC).withParameters(types).intercept(new CodeMethodImplementation() {
+        return type.defineMethod(mtd.getName(), ret, types, new CodeMethodImplementation() {
             @Override
             public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
-                methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
-                methodVisitor.visitFieldInsn(Opcodes.GETFIELD, PROXY_BASE, FIELD_NAME, OBJECT_DESC);
-                methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, desc);
+                loadObject(methodVisitor, type, desc);
                 var offset = loadParams(methodVisitor, types);
                 if (ret.isAssignableFrom(m.getReturnType())) {
                     methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, desc, mtd.getName(), calcDescriptor(types, ret), false);
@@ -226,59 +702,50 @@ public class CodeGenProjectionProvider implements ProjectionProvider, ProxyProvi
                     methodVisitor.visitVarInsn(Opcodes.ASTORE, 1);
                     methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
                     var restDesc = Type.getType(ret);
-                    methodVisitor.visitLdcInsn(restDesc);
-                    methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "net/binis/codegen/map/Mapper", "convert", "(Ljava/lang/Object;Ljava/lang/Class;)Ljava/lang/Object;", false);
+                    convert(methodVisitor, mtd.getName(), restDesc);
                     methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, restDesc.getInternalName());
                 }
-                var locals = offset;
-                var retOp = getReturnOpcode(ret);
-                methodVisitor.visitInsn(retOp.getKey());
-                offset += retOp.getValue();
+                methodVisitor.visitInsn(getReturnOpcode(ret).getKey());
 
-                return new ByteCodeAppender.Size(offset, locals);
+                if (ret.isAssignableFrom(m.getReturnType())) {
+                    return new ByteCodeAppender.Size(Math.max(offset, getStackSize(ret)), offset);
+                }
+                return new ByteCodeAppender.Size(Math.max(offset, 2), Math.max(offset, 2));
             }
-        }).annotateMethod(mtd.getDeclaredAnnotations());
+        }, mtd.getDeclaredAnnotations());
     }
 
-    protected DynamicType.Builder<?> handleMapMethod(DynamicType.Builder<?> type, Method mtd, String desc, Class<?>[] types, Class<?> ret) {
+    protected ProjectionClassBuilder handleMapMethod(ProjectionClassBuilder type, Method mtd, String desc, Class<?>[] types, Class<?> ret) {
         var key = getKeyName(mtd.getName());
 
-        return type.defineMethod(mtd.getName(), ret, Opcodes.ACC_PUBLIC).withParameters(types).intercept(new CodeMethodImplementation() {
+        return type.defineMethod(mtd.getName(), ret, types, new CodeMethodImplementation() {
             @Override
             public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
-                methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
-                methodVisitor.visitFieldInsn(Opcodes.GETFIELD, PROXY_BASE, FIELD_NAME, OBJECT_DESC);
-                methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, desc);
+                loadObject(methodVisitor, type, desc);
                 var offset = loadParams(methodVisitor, types);
                 methodVisitor.visitLdcInsn(key);
 
                 methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, desc, "get", "(Ljava/lang/Object;)Ljava/lang/Object;", false);
                 var restDesc = Type.getType(ret);
-                methodVisitor.visitLdcInsn(restDesc);
-                methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "net/binis/codegen/map/Mapper", "convert", "(Ljava/lang/Object;Ljava/lang/Class;)Ljava/lang/Object;", false);
+                convert(methodVisitor, mtd.getName(), restDesc);
                 methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, restDesc.getInternalName());
+                methodVisitor.visitInsn(getReturnOpcode(ret).getKey());
 
-                var locals = offset;
-                var retOp = getReturnOpcode(ret);
-                methodVisitor.visitInsn(retOp.getKey());
-                offset += retOp.getValue();
-
-                return new ByteCodeAppender.Size(offset, locals);
+                return new ByteCodeAppender.Size(offset + 1, offset);
             }
-        }).annotateMethod(mtd.getDeclaredAnnotations());
+        }, mtd.getDeclaredAnnotations());
     }
 
 
-    protected DynamicType.Builder<?> handlePath(DynamicType.Builder<?> type, Class<?> cls, Method mtd, String desc, Class<?>[] types, Class<?> ret, boolean isVoid, Deque<Object> path) {
+    protected ProjectionClassBuilder handlePath(ProjectionClassBuilder type, Class<?> cls, Method mtd, String desc, Class<?>[] types, Class<?> ret, boolean isVoid, Deque<Object> path) {
         assert path.size() > 1;
-        return type.defineMethod(mtd.getName(), ret, Opcodes.ACC_PUBLIC).withParameters(types).intercept(new CodeMethodImplementation() {
+        var nested = ret.isInterface() && !(path.peekLast() instanceof Method last && ret.equals(last.getReturnType())) ? defineNested(type, mtd, types) : type;
+        return nested.defineMethod(mtd.getName(), ret, types, new CodeMethodImplementation() {
             @Override
             public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
                 var loadOffset = loadOffset(types);
                 var label = new Label();
-                methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
-                methodVisitor.visitFieldInsn(Opcodes.GETFIELD, PROXY_BASE, FIELD_NAME, OBJECT_DESC);
-                methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, desc);
+                loadObject(methodVisitor, type, desc);
                 var size = path.size();
                 var m = (Method) path.pop();
                 if (m.getDeclaringClass().isInterface()) {
@@ -324,63 +791,112 @@ public class CodeGenProjectionProvider implements ProjectionProvider, ProxyProvi
                         methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, TypeDefinition.Sort.describe(pm.getReturnType()).getActualName().replace('.', '/'), mm.getName(), calcDescriptor(mm.getParameterTypes(), mm.getReturnType()), false);
                     }
                     if (ret.isInterface() && !ret.equals(mm.getReturnType())) {
-                        methodVisitor.visitLdcInsn(retDesc);
-                        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "net/binis/codegen/factory/CodeFactory", "projection", "(Ljava/lang/Object;Ljava/lang/Class;)Ljava/lang/Object;", false);
+                        project(methodVisitor, type, mtd, types, retDesc);
                         methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, retDesc.getInternalName());
                     } else if (!ret.equals(mm.getReturnType())) {
-                        methodVisitor.visitLdcInsn(retDesc);
-                        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "net/binis/codegen/map/Mapper", "convert", "(Ljava/lang/Object;Ljava/lang/Class;)Ljava/lang/Object;", false);
+                        convert(methodVisitor, mtd.getName(), retDesc);
                         methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, retDesc.getInternalName());
                     }
                 } else {
                     methodVisitor.visitLdcInsn(q);
                     methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
-                    methodVisitor.visitLdcInsn(retDesc);
 
                     if (ret.isInterface()) {
-                        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "net/binis/codegen/factory/CodeFactory", "projection", "(Ljava/lang/Object;Ljava/lang/Class;)Ljava/lang/Object;", false);
+                        project(methodVisitor, type, mtd, types, retDesc);
                     } else {
-                        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "net/binis/codegen/map/Mapper", "convert", "(Ljava/lang/Object;Ljava/lang/Class;)Ljava/lang/Object;", false);
+                        convert(methodVisitor, mtd.getName(), retDesc);
                     }
                     methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, retDesc.getInternalName());
                 }
-                var retOp = getReturnOpcode(ret);
-                methodVisitor.visitInsn(retOp.getKey());
+                methodVisitor.visitInsn(getReturnOpcode(ret).getKey());
                 methodVisitor.visitLabel(label);
+                if (!ProjectionSettings.isComputeFrames()) {
+                    methodVisitor.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+                }
                 defaultReturn(methodVisitor, ret);
 
-                return new ByteCodeAppender.Size(1, 1);
+                return new ByteCodeAppender.Size(Math.max(loadOffset + 2, 3), loadOffset + size);
             }
-        }).annotateMethod(mtd.getDeclaredAnnotations());
+        }, mtd.getDeclaredAnnotations());
     }
 
-    protected DynamicType.Builder<?> handleProjection(DynamicType.Builder<?> type, Method mtd, Method m, String desc, Class<?>[] types, Class<?> ret) {
-        return type.defineMethod(mtd.getName(), ret, Opcodes.ACC_PUBLIC).withParameters(types).intercept(new CodeMethodImplementation() {
+    protected ProjectionClassBuilder handleProjection(ProjectionClassBuilder type, Method mtd, Method m, String desc, Class<?>[] types, Class<?> ret) {
+        return defineNested(type, mtd, types).defineMethod(mtd.getName(), ret, types, new CodeMethodImplementation() {
             @Override
             public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
-                methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
-                methodVisitor.visitFieldInsn(Opcodes.GETFIELD, PROXY_BASE, FIELD_NAME, OBJECT_DESC);
-                methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, desc);
+                loadObject(methodVisitor, type, desc);
                 var offset = loadParams(methodVisitor, types);
                 methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, desc, mtd.getName(), calcDescriptor(types, m.getReturnType()), false);
-                methodVisitor.visitLdcInsn(Type.getType(mtd.getReturnType()));
-                methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "net/binis/codegen/factory/CodeFactory", "projection", "(Ljava/lang/Object;Ljava/lang/Class;)Ljava/lang/Object;", false);
+                project(methodVisitor, type, mtd, types, Type.getType(mtd.getReturnType()));
                 methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, TypeDefinition.Sort.describe(mtd.getReturnType()).getActualName().replace('.', '/'));
                 methodVisitor.visitInsn(Opcodes.ARETURN);
-                var size = (offset == 1) ? 2 : offset;
-                return new ByteCodeAppender.Size(size, offset);
+                return new ByteCodeAppender.Size(Math.max(offset, 3), offset);
             }
-        }).annotateMethod(mtd.getDeclaredAnnotations());
+        }, mtd.getDeclaredAnnotations());
+    }
+
+    /**
+     * Parameterless getters keep their nested projection in a field of the proxy, so it is reused while the getter
+     * keeps returning the same object.
+     */
+    protected ProjectionClassBuilder defineNested(ProjectionClassBuilder type, Method mtd, Class<?>[] types) {
+        if (types.length == 0) {
+            return type.defineField(NESTED_FIELD_PREFIX + mtd.getName(), Object.class, Opcodes.ACC_PRIVATE | Opcodes.ACC_TRANSIENT);
+        }
+        return type;
+    }
+
+    protected void project(MethodVisitor methodVisitor, ProjectionClassBuilder type, Method mtd, Class<?>[] types, Type ret) {
+        if (types.length == 0) {
+            var field = NESTED_FIELD_PREFIX + mtd.getName();
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+            methodVisitor.visitFieldInsn(Opcodes.GETFIELD, type.getInternalName(), field, OBJECT_DESC);
+            methodVisitor.visitInsn(Opcodes.SWAP);
+            loadSite(methodVisitor, ret);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, PROXY_BASE, "nested", "(Ljava/lang/Object;Ljava/lang/Object;" + SITE_DESC + ")Ljava/lang/Object;", false);
+            methodVisitor.visitInsn(Opcodes.DUP);
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+            methodVisitor.visitInsn(Opcodes.SWAP);
+            methodVisitor.visitFieldInsn(Opcodes.PUTFIELD, type.getInternalName(), field, OBJECT_DESC);
+        } else {
+            loadSite(methodVisitor, ret);
+            methodVisitor.visitInsn(Opcodes.SWAP);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, SITE, NestedProjectionSite.PROJECT, "(Ljava/lang/Object;)Ljava/lang/Object;", false);
+        }
+    }
+
+    /**
+     * Loads the {@link NestedProjectionSite} of the projection, a constant resolved on first use of the call site.
+     */
+    protected void loadSite(MethodVisitor methodVisitor, Type ret) {
+        methodVisitor.visitLdcInsn(new ConstantDynamic("site", SITE_DESC,
+                new Handle(Opcodes.H_INVOKESTATIC, SITE, NestedProjectionSite.BOOTSTRAP, "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;Ljava/lang/Class;)" + SITE_DESC, false),
+                ret));
+    }
+
+    /**
+     * Converts the value on top of the stack to the given type through the {@link ConversionSite} of the call site,
+     * a constant resolved on first use and named after the generated method.
+     */
+    protected static void convert(MethodVisitor methodVisitor, String site, Type ret) {
+        Object type = ret;
+        if (ret.getSort() < Type.ARRAY) {
+            type = new ConstantDynamic(ret.getDescriptor(), "Ljava/lang/Class;",
+                    new Handle(Opcodes.H_INVOKESTATIC, "java/lang/invoke/ConstantBootstraps", "primitiveClass", "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/Class;", false));
+        }
+        methodVisitor.visitLdcInsn(new ConstantDynamic(site, CONVERSION_DESC,
+                new Handle(Opcodes.H_INVOKESTATIC, CONVERSION, ConversionSite.BOOTSTRAP, "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;Ljava/lang/Class;)" + CONVERSION_DESC, false),
+                type));
+        methodVisitor.visitInsn(Opcodes.SWAP);
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, CONVERSION, ConversionSite.CONVERT, "(Ljava/lang/Object;)Ljava/lang/Object;", false);
     }
 
-    protected DynamicType.Builder<?> handleCustomClassProjection(DynamicType.Builder<?> type, Method mtd, Method m, String desc, Class<?>[] types, Class<?> ret, java.lang.reflect.Type[] generics) {
-        return type.defineMethod(mtd.getName(), ret, Opcodes.ACC_PUBLIC).withParameters(types).intercept(new CodeMethodImplementation() {
+    protected ProjectionClassBuilder handleCustomClassProjection(ProjectionClassBuilder type, Method mtd, Method m, String desc, Class<?>[] types, Class<?> ret, java.lang.reflect.Type[] generics) {
+        return type.defineMethod(mtd.getName(), ret, types, new CodeMethodImplementation() {
             @Override
             public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
-                methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
-                methodVisitor.visitFieldInsn(Opcodes.GETFIELD, PROXY_BASE, FIELD_NAME, OBJECT_DESC);
-                methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, desc);
-                loadParams(methodVisitor, types);
+                loadObject(methodVisitor, type, desc);
+                var offset = loadParams(methodVisitor, types);
                 methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, desc, mtd.getName(), calcDescriptor(types, m.getReturnType()), false);
                 methodVisitor.visitInsn(Opcodes.ICONST_0 + generics.length);
                 methodVisitor.visitTypeInsn(Opcodes.ANEWARRAY, "java/lang/Class");
@@ -393,9 +909,9 @@ public class CodeGenProjectionProvider implements ProjectionProvider, ProxyProvi
                 methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "net/binis/codegen/factory/CodeFactory", "projections", "(Ljava/lang/Object;[Ljava/lang/Class;)Ljava/lang/Object;", false);
                 methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, TypeDefinition.Sort.describe(mtd.getReturnType()).getActualName().replace('.', '/'));
                 methodVisitor.visitInsn(Opcodes.ARETURN);
-                return new ByteCodeAppender.Size(1, 1);
+                return new ByteCodeAppender.Size(Math.max(offset, 5), offset);
             }
-        }).annotateMethod(mtd.getDeclaredAnnotations());
+        }, mtd.getDeclaredAnnotations());
     }
 
 
@@ -494,6 +1010,21 @@ public class CodeGenProjectionProvider implements ProjectionProvider, ProxyProvi
         return Pair.of(Opcodes.ARETURN, 0);
     }
 
+    protected void loadObject(MethodVisitor methodVisitor, ProjectionClassBuilder type, String desc) {
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        methodVisitor.visitFieldInsn(Opcodes.GETFIELD, type.getInternalName(), TARGET_FIELD_NAME, "L" + desc + ";");
+    }
+
+    protected static int getStackSize(Class<?> type) {
+        if (void.class.equals(type)) {
+            return 0;
+        }
+        if (long.class.equals(type) || double.class.equals(type)) {
+            return 2;
+        }
+        return 1;
+    }
+
     protected int getLoadOffset(Class<?> type) {
         if (type.isPrimitive() && (long.class.equals(type) || double.class.equals(type))) {
             return 2;
@@ -548,7 +1079,7 @@ public class CodeGenProjectionProvider implements ProjectionProvider, ProxyProvi
         return false;
     }
 
-    protected DynamicType.Builder<?> checkPath(DynamicType.Builder<?> type, Class<?> cls, Method mtd, String desc, Class<?>[] types, Class<?> ret, boolean isVoid) {
+    protected ProjectionClassBuilder checkPath(ProjectionClassBuilder type, Class<?> cls, Method mtd, String desc, Class<?>[] types, Class<?> ret, boolean isVoid) {
         var path = new ArrayDeque<>();
         var name = mtd.getName();
         findStartMethod(cls, name, types, path);
@@ -563,82 +1094,19 @@ public class CodeGenProjectionProvider implements ProjectionProvider, ProxyProvi
         return null;
     }
 
-    protected Method findMethod(Class<?> cls, String name, Class<?>[] types) throws NoSuchMethodException {
-        try {
-            return cls.getDeclaredMethod(name, types);
-        } catch (NoSuchMethodException ex) {
-            if (nonNull(cls.getSuperclass())) {
-                return findMethod(cls.getSuperclass(), name, types);
-            } else {
-                throw ex;
-            }
-        }
+    protected Method findMethod(Class<?> cls, String name, Class<?>[] types) {
+        return PropertyIndex.of(cls).findMethod(name, types);
     }
 
     protected boolean findStartMethod(Class<?> cls, String name, Class<?>[] types, Deque<Object> path) {
-        var result = false;
-        for (var m : cls.getDeclaredMethods()) {
-            if (name.startsWith(m.getName())) {
-                var left = name.substring(m.getName().length());
-                if (left.isEmpty()) {
-                    if (paramsMatch(m.getParameterTypes(), types)) {
-                        path.push(m);
-                        return true;
-                    }
-                } else if (Map.class.isAssignableFrom(m.getReturnType())) {
-                    if (paramsMatch(m.getParameterTypes(), types)) {
-                        path.push(decapitalize(left));
-                        path.push(m);
-                        return true;
-                    }
-                } else {
-                    if (m.getParameterCount() == 0 && !m.getReturnType().isPrimitive() && Character.isUpperCase(left.charAt(0))) {
-                        result = findStartMethod(m.getReturnType(), calcGetterName(left), types, path);
-                        if (!result) {
-                            result = findStartMethod(m.getReturnType(), calcBooleanGetterName(left), types, path);
-                        }
-                        if (!path.isEmpty()) {
-                            path.push(m);
-                        }
-                        if (result) {
-                            return result;
-                        } else {
-                            result = findStartMethod(m.getReturnType(), left.substring(0, 1).toLowerCase() + left.substring(1), types, path);
-                            if (!path.isEmpty()) {
-                                path.push(m);
-                            }
-                            if (result) {
-                                return result;
-                            }
-                        }
-                    }
-                }
-            }
+        var result = PropertyIndex.of(cls).findPath(name, types);
+        if (nonNull(result)) {
+            path.addAll(result);
+            return true;
         }
-
-        if (nonNull(cls.getSuperclass())) {
-            result = findStartMethod(cls.getSuperclass(), name, types, path);
-        }
-        if (!result) {
-            for (var i : cls.getInterfaces()) {
-                result = findStartMethod(i, name, types, path);
-                if (result) {
-                    break;
-                }
-            }
-        }
-        return result;
-    }
-
-    protected String calcGetterName(String value) {
-        return "get" + Character.toUpperCase(value.charAt(0)) + value.substring(1);
-    }
-
-    protected String calcBooleanGetterName(String value) {
-        return "is" + Character.toUpperCase(value.charAt(0)) + value.substring(1);
+        return false;
     }
 
-
     protected static void defaultReturn(MethodVisitor methodVisitor, Class<?> ret) {
         if (ret.isPrimitive()) {
             if (ret.equals(long.class)) {
@@ -660,23 +1128,17 @@ public class CodeGenProjectionProvider implements ProjectionProvider, ProxyProvi
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Object proxy(Class cls, InvocationHandler handler) {
-        if (cls.isInterface()) {
-            return Proxy.newProxyInstance(cls.getClassLoader(), new Class[]{cls}, handler);
-        } else {
-            var inst = CodeFactory.create(proxies.computeIfAbsent(cls, k ->
-                    new ByteBuddy()
-                            .subclass(k)
-                            .defineField("handler", InvocationHandler.class, Visibility.PUBLIC)
-                            .method(ElementMatchers.any())
-                            .intercept(InvocationHandlerAdapter.toField("handler"))
-                            .make()
-                            .load(k.getClassLoader())
-                            .getLoaded()));
-            return Reflection.setFieldValue(inst, "handler", handler);
-        }
+        return singleProxies.get(cls).create(handler);
+    }
+
+    public static ProjectionClassCache.Statistics getProjectionCacheStatistics() {
+        return projectionClasses.getStatistics();
+    }
+
+    public static ProjectionClassCache.Statistics getProxyCacheStatistics() {
+        return proxies.getStatistics();
     }
 
     @Override
@@ -685,25 +1147,287 @@ public class CodeGenProjectionProvider implements ProjectionProvider, ProxyProvi
         return switch (cls.length) {
             case 0 -> throw new IllegalArgumentException("No classes provided!");
             case 1 -> proxy(cls[0], handler);
-            default -> Proxy.newProxyInstance(cls[0].getClassLoader(), cls, handler);
+            default -> warmUpProxy(cls).create(handler);
         };
     }
 
-    protected static class EnableFramesComputing implements AsmVisitorWrapper {
-        @Override
-        public final int mergeWriter(int flags) {
-            return flags | ClassWriter.COMPUTE_FRAMES;
+    /**
+     * Generates the proxy class of the types and returns its instantiation, which creates a proxy from an
+     * {@link InvocationHandler} with a plain {@code new}. The first type is either an interface or the superclass of
+     * the proxy, the rest are interfaces. Keep the instantiation to create proxies on hot paths.
+     */
+    public ProjectionInstantiation warmUpProxy(Class<?>... types) {
+        return proxyInstantiations.get(proxies.get(() -> types[0].isInterface() ? makeInterfaceProxy(types) : makeClassProxy(types), types));
+    }
+
+    /**
+     * Generates a subclass of the first type implementing the remaining ones, dispatching every overridable method to
+     * the handler (see {@link CodeInvocationHandler}).
+     */
+    protected Class<?> makeClassProxy(Class<?>[] types) {
+        var superClass = types[0];
+        var interfaces = Arrays.copyOfRange(types, 1, types.length);
+        if (!Modifier.isPublic(superClass.getModifiers()) || Modifier.isFinal(superClass.getModifiers())) {
+            throw new ProjectionCreationException("Unable to proxy non public or final class: " + superClass.getCanonicalName());
+        }
+        try {
+            if (Modifier.isPrivate(superClass.getDeclaredConstructor().getModifiers())) {
+                throw new ProjectionCreationException("Unable to proxy class without accessible default constructor: " + superClass.getCanonicalName());
+            }
+        } catch (NoSuchMethodException e) {
+            throw new ProjectionCreationException("Unable to proxy class without default constructor: " + superClass.getCanonicalName(), e);
         }
 
-        @Override
-        public final int mergeReader(int flags) {
-            return flags | ClassWriter.COMPUTE_FRAMES;
+        var methods = classProxyMethods(superClass, interfaces);
+        var loader = Optional.ofNullable(superClass.getClassLoader()).orElse(CodeGenProjectionProvider.class.getClassLoader());
+        return defineProxyClass(superClass, superClass, interfaces, methods, loader);
+    }
+
+    protected Class<?> makeInterfaceProxy(Class<?>[] interfaces) {
+        var methods = proxyMethods(interfaces);
+        var loader = Optional.ofNullable(interfaces[0].getClassLoader()).orElse(CodeGenProjectionProvider.class.getClassLoader());
+        if (isNull(methods)) {
+            return Proxy.newProxyInstance(loader, interfaces, (proxy, method, args) -> null).getClass();
         }
+        return defineProxyClass(interfaces[0], Object.class, interfaces, methods, loader);
+    }
 
-        @Override
-        public final ClassVisitor wrap(TypeDescription td, ClassVisitor cv, Implementation.Context ctx, TypePool tp, FieldList<FieldDescription.InDefinedShape> fields, MethodList<?> methods, int wflags, int rflags) {
-            return cv;
+    /**
+     * Methods dispatched by an interface proxy in index order, {@code null} when the interfaces can't be implemented.
+     */
+    protected List<Method> proxyMethods(Class<?>... interfaces) {
+        var result = new ArrayList<Method>();
+        var signatures = new HashMap<List<Object>, Method>();
+        try {
+            for (var m : List.of(Object.class.getMethod("hashCode"), Object.class.getMethod("equals", Object.class), Object.class.getMethod("toString"))) {
+                signatures.put(List.of(m.getName(), Arrays.asList(m.getParameterTypes())), m);
+                result.add(m);
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+
+        for (var intf : interfaces) {
+            if (!Modifier.isPublic(intf.getModifiers())) {
+                return null;
+            }
+            for (var m : intf.getMethods()) {
+                if (!Modifier.isStatic(m.getModifiers())) {
+                    var existing = signatures.putIfAbsent(List.of(m.getName(), Arrays.asList(m.getParameterTypes())), m);
+                    if (isNull(existing)) {
+                        result.add(m);
+                    } else if (!existing.getReturnType().equals(m.getReturnType())) {
+                        return null;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Methods dispatched by a class proxy in index order. Public and protected methods of the class hierarchy and the
+     * interfaces that aren't final, except {@link Object#finalize()}.
+     */
+    protected List<Method> classProxyMethods(Class<?> superClass, Class<?>[] interfaces) {
+        var result = new ArrayList<Method>();
+        var signatures = new HashSet<List<Object>>();
+        var candidates = new ArrayList<Method>();
+        for (var cls = superClass; nonNull(cls); cls = cls.getSuperclass()) {
+            candidates.addAll(Arrays.asList(cls.getDeclaredMethods()));
+        }
+        candidates.addAll(Arrays.asList(superClass.getMethods()));
+        for (var intf : interfaces) {
+            candidates.addAll(Arrays.asList(intf.getMethods()));
+        }
+
+        for (var m : candidates) {
+            var modifiers = m.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers) || m.isBridge()
+                    || !signatures.add(List.of(m.getName(), Arrays.asList(m.getParameterTypes()), m.getReturnType()))) {
+                continue;
+            }
+            if ((Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers)) && !Modifier.isFinal(modifiers)
+                    && !("finalize".equals(m.getName()) && m.getParameterCount() == 0)) {
+                result.add(m);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Defines the proxy class of the type through {@link ProjectionClassDefiner}, as a hidden class next to the type when
+     * hidden classes are enabled.
+     */
+    protected Class<?> defineProxyClass(Class<?> type, Class<?> superClass, Class<?>[] interfaces, List<Method> methods, ClassLoader loader) {
+        var others = type == superClass ? interfaces : Arrays.copyOfRange(interfaces, 1, interfaces.length);
+        var lookup = ProjectionClassDefiner.lookup(type);
+        var name = (nonNull(lookup) ? getProjectionClassName(lookup.lookupClass().getPackageName(), type, others) : getProjectionClassName(type, others)) + PROXY_SUFFIX;
+        return ProjectionClassDefiner.define(lookup, loader, name, () -> makeProxyClass(name, superClass, interfaces, methods));
+    }
+
+    /**
+     * Generates a proxy class taking the handler in its constructor. Every method passes its {@link Method} from a static
+     * table to the handler, which the class resolves in its static initializer (see {@link ProxyMethodTable}). A
+     * {@link CodeInvocationHandler} also gets the method index and returns primitive results through its typed methods.
+     */
+    protected DynamicType.Unloaded<?> makeProxyClass(String name, Class<?> superClass, Class<?>[] interfaces, List<Method> methods) {
+        var owner = name.replace('.', '/');
+        DynamicType.Builder<?> type = new ByteBuddy()
+                .subclass(superClass, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                .name(name)
+                .implement(interfaces)
+                .defineField(HANDLER_FIELD_NAME, InvocationHandler.class, Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL)
+                .defineField(INDEXED_FIELD_NAME, CodeInvocationHandler.class, Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL)
+                .defineField(METHODS_FIELD_NAME, Method[].class, Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL)
+                .initializer((methodVisitor, implementationContext, instrumentedMethod) -> {
+                    methodVisitor.visitLdcInsn(Type.getObjectType(owner));
+                    methodVisitor.visitLdcInsn(methods.size());
+                    methodVisitor.visitTypeInsn(Opcodes.ANEWARRAY, "java/lang/String");
+                    for (var i = 0; i < methods.size(); i++) {
+                        methodVisitor.visitInsn(Opcodes.DUP);
+                        methodVisitor.visitLdcInsn(i);
+                        methodVisitor.visitLdcInsn(ProxyMethodTable.signature(methods.get(i)));
+                        methodVisitor.visitInsn(Opcodes.AASTORE);
+                    }
+                    methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(ProxyMethodTable.class), ProxyMethodTable.RESOLVE, ProxyMethodTable.RESOLVE_DESC, false);
+                    methodVisitor.visitFieldInsn(Opcodes.PUTSTATIC, owner, METHODS_FIELD_NAME, "[Ljava/lang/reflect/Method;");
+                    return new ByteCodeAppender.Size(5, 0);
+                })
+                .defineConstructor(Visibility.PUBLIC)
+                .withParameters(InvocationHandler.class)
+                .intercept(new CodeMethodImplementation() {
+                    @Override
+                    public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+                        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                        methodVisitor.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(superClass), "<init>", "()V", false);
+                        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                        methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+                        methodVisitor.visitFieldInsn(Opcodes.PUTFIELD, owner, HANDLER_FIELD_NAME, INVOCATION_HANDLER_DESC);
+                        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                        methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+                        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, HANDLER, "indexed", "(" + INVOCATION_HANDLER_DESC + ")" + HANDLER_DESC, true);
+                        methodVisitor.visitFieldInsn(Opcodes.PUTFIELD, owner, INDEXED_FIELD_NAME, HANDLER_DESC);
+                        methodVisitor.visitInsn(Opcodes.RETURN);
+                        return new ByteCodeAppender.Size(2, 2);
+                    }
+                });
+
+        for (var i = 0; i < methods.size(); i++) {
+            var index = i;
+            var m = methods.get(i);
+            var types = m.getParameterTypes();
+            var ret = m.getReturnType();
+            type = type.defineMethod(m.getName(), ret, Opcodes.ACC_PUBLIC)
+                    .withParameters(types)
+                    .throwing(m.getExceptionTypes())
+                    .intercept(new CodeMethodImplementation() {
+                        @Override
+                        public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+                            var plain = new Label();
+                            methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                            methodVisitor.visitFieldInsn(Opcodes.GETFIELD, owner, INDEXED_FIELD_NAME, HANDLER_DESC);
+                            methodVisitor.visitJumpInsn(Opcodes.IFNULL, plain);
+                            methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                            methodVisitor.visitFieldInsn(Opcodes.GETFIELD, owner, INDEXED_FIELD_NAME, HANDLER_DESC);
+                            methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                            methodVisitor.visitLdcInsn(index);
+                            loadMethod(methodVisitor, owner, index);
+                            loadArguments(methodVisitor, types);
+                            dispatch(methodVisitor, ret);
+
+                            methodVisitor.visitLabel(plain);
+                            methodVisitor.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+                            methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                            methodVisitor.visitFieldInsn(Opcodes.GETFIELD, owner, HANDLER_FIELD_NAME, INVOCATION_HANDLER_DESC);
+                            methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                            loadMethod(methodVisitor, owner, index);
+                            loadArguments(methodVisitor, types);
+                            methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, INVOCATION_HANDLER, "invoke", "(Ljava/lang/Object;Ljava/lang/reflect/Method;[Ljava/lang/Object;)Ljava/lang/Object;", true);
+                            unbox(methodVisitor, ret);
+                            return new ByteCodeAppender.Size(9, 1 + loadOffset(types));
+                        }
+                    });
         }
+        return type.make();
+    }
+
+    protected void loadMethod(MethodVisitor methodVisitor, String owner, int index) {
+        methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, owner, METHODS_FIELD_NAME, "[Ljava/lang/reflect/Method;");
+        methodVisitor.visitLdcInsn(index);
+        methodVisitor.visitInsn(Opcodes.AALOAD);
+    }
+
+    /**
+     * Returns the result of a plain {@link InvocationHandler}, unboxed the same way as {@link Proxy} does.
+     */
+    protected void unbox(MethodVisitor methodVisitor, Class<?> ret) {
+        if (void.class.equals(ret)) {
+            methodVisitor.visitInsn(Opcodes.POP);
+        } else if (ret.isPrimitive()) {
+            var wrapper = MethodType.methodType(ret).wrap().returnType();
+            methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(wrapper));
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(wrapper), ret.getName() + "Value", "()" + Type.getDescriptor(ret), false);
+        } else if (!Object.class.equals(ret)) {
+            methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(ret));
+        }
+        methodVisitor.visitInsn(getReturnOpcode(ret).getKey());
+    }
+
+    /**
+     * Loads the arguments as a boxed array, {@code null} when there are none.
+     */
+    protected void loadArguments(MethodVisitor methodVisitor, Class<?>[] types) {
+        if (types.length == 0) {
+            methodVisitor.visitInsn(Opcodes.ACONST_NULL);
+            return;
+        }
+
+        methodVisitor.visitLdcInsn(types.length);
+        methodVisitor.visitTypeInsn(Opcodes.ANEWARRAY, "java/lang/Object");
+        var offset = 1;
+        for (var i = 0; i < types.length; i++) {
+            methodVisitor.visitInsn(Opcodes.DUP);
+            methodVisitor.visitLdcInsn(i);
+            methodVisitor.visitVarInsn(getLoadOpcode(types[i]), offset);
+            if (types[i].isPrimitive()) {
+                var wrapper = MethodType.methodType(types[i]).wrap().returnType();
+                methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(wrapper), "valueOf", "(" + Type.getDescriptor(types[i]) + ")" + Type.getDescriptor(wrapper), false);
+            }
+            methodVisitor.visitInsn(Opcodes.AASTORE);
+            offset += getLoadOffset(types[i]);
+        }
+    }
+
+    protected void dispatch(MethodVisitor methodVisitor, Class<?> ret) {
+        var args = "(Ljava/lang/Object;ILjava/lang/reflect/Method;[Ljava/lang/Object;)";
+        if (void.class.equals(ret)) {
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, HANDLER, "invoke", args + OBJECT_DESC, true);
+            methodVisitor.visitInsn(Opcodes.POP);
+        } else if (boolean.class.equals(ret)) {
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, HANDLER, "invokeBoolean", args + "Z", true);
+        } else if (long.class.equals(ret)) {
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, HANDLER, "invokeLong", args + "J", true);
+        } else if (float.class.equals(ret)) {
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, HANDLER, "invokeFloat", args + "F", true);
+        } else if (double.class.equals(ret)) {
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, HANDLER, "invokeDouble", args + "D", true);
+        } else if (ret.isPrimitive()) {
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, HANDLER, "invokeInt", args + "I", true);
+            if (byte.class.equals(ret)) {
+                methodVisitor.visitInsn(Opcodes.I2B);
+            } else if (short.class.equals(ret)) {
+                methodVisitor.visitInsn(Opcodes.I2S);
+            } else if (char.class.equals(ret)) {
+                methodVisitor.visitInsn(Opcodes.I2C);
+            }
+        } else {
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, HANDLER, "invoke", args + OBJECT_DESC, true);
+            if (!Object.class.equals(ret)) {
+                methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(ret));
+            }
+        }
+        methodVisitor.visitInsn(getReturnOpcode(ret).getKey());
     }
 
     public static String getKeyName(String name) {
@@ -714,4 +1438,67 @@ public class CodeGenProjectionProvider implements ProjectionProvider, ProxyProvi
         }
     }
 
+    protected class ProjectAll extends RecursiveAction {
+
+        private final List<?> objects;
+        private final Class<?> projection;
+        private final Object[] result;
+        private final Map<Class<?>, ProjectionInstantiation> instantiations;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        protected ProjectAll(List<?> objects, Class<?> projection, Object[] result, Map<Class<?>, ProjectionInstantiation> instantiations, int from, int to, int threshold) {
+            this.objects = objects;
+            this.projection = projection;
+            this.result = result;
+            this.instantiations = instantiations;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (threshold > 0 && to - from > threshold) {
+                var middle = (from + to) >>> 1;
+                invokeAll(new ProjectAll(objects, projection, result, instantiations, from, middle, threshold),
+                        new ProjectAll(objects, projection, result, instantiations, middle, to, threshold));
+                return;
+            }
+
+            Class<?> type = null;
+            ProjectionInstantiation instantiation = null;
+            for (var i = from; i < to; i++) {
+                var o = objects.get(i);
+                if (isNull(o)) {
+                    result[i] = null;
+                } else {
+                    if (o.getClass() != type) {
+                        type = o.getClass();
+                        instantiation = instantiations.computeIfAbsent(type, c -> bulkInstantiation(c, projection));
+                    }
+                    result[i] = instantiation.create(o);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates projections through {@link Constructor#newInstance(Object...)}. Only used when the projection class can't
+     * be linked directly.
+     */
+    public record ReflectiveInstantiation(Class<?> cls, Constructor<?> constructor) implements ProjectionInstantiation {
+
+        @Override
+        public Object create(Object o) {
+            try {
+                return constructor.newInstance(o);
+            } catch (Exception e) {
+                throw new ProjectionCreationException("Unable to create projection for class: " + cls.getCanonicalName(), e);
+            }
+        }
+
+    }
+
 }
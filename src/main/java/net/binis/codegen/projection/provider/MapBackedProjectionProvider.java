@@ -23,31 +23,56 @@ package net.binis.codegen.projection.provider;
 import net.binis.codegen.factory.CodeFactory;
 import net.binis.codegen.map.Mapper;
 import net.binis.codegen.projection.interfaces.CodeProxyControl;
+import net.binis.codegen.projection.objects.CodeConvertingList;
+import net.binis.codegen.projection.objects.CodeMapProxyBase;
+import net.binis.codegen.projection.objects.CodeMethodImplementation;
 import net.binis.codegen.projection.objects.CodeProxyBase;
+import net.binis.codegen.projection.tools.DirtyTracking;
+import net.binis.codegen.projection.tools.ProjectionBytecodeCache;
+import net.binis.codegen.projection.tools.ProjectionClassCache;
+import net.binis.codegen.projection.tools.ProjectionClassDefiner;
+import net.binis.codegen.projection.tools.ProjectionSettings;
 import net.binis.codegen.tools.Reflection;
 import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.scaffold.TypeValidation;
-import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.MethodCall;
-import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.jar.asm.Label;
+import net.bytebuddy.jar.asm.MethodVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.jar.asm.Type;
 import net.bytebuddy.implementation.bind.annotation.*;
 
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static net.binis.codegen.projection.tools.ProjectionTools.decapitalize;
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
 public class MapBackedProjectionProvider {
 
-    private static final Map<Class<?>, Class<?>> CLASS_CACHE = new ConcurrentHashMap<>();
+    public static final String LIST_FIELD_PREFIX = "list$";
+    private static final ProjectionClassCache CLASS_CACHE = new ProjectionClassCache();
+    private static final ProjectionClassCache COMPACT_CACHE = new ProjectionClassCache();
     private static final ByteBuddy BYTE_BUDDY = new ByteBuddy()
             .with(TypeValidation.DISABLED);
 
@@ -66,30 +91,499 @@ public class MapBackedProjectionProvider {
         }
     }
 
+    /**
+     * Copies the map into an instance of a generated class with one field per projection property, so the map itself
+     * can be released. Values are converted to the property types once, here, instead of on every call. Primitive
+     * properties are stored in primitive fields. Setters write the fields, the map is never read again. Unlike
+     * {@link #create(Map, Class[])}, equality of compact projections is identity.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T compact(Map<String, Object> map, Class<T>... projections) {
+        if (projections.length != 0) {
+            try {
+                return (T) CodeFactory.create(getOrCreateCompactClass(projections), map);
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to create compact projection instance for " + projections[0].getName(), e);
+            }
+        } else {
+            throw new RuntimeException("Projection class not specified");
+        }
+    }
+
+    private static String className(Class<?>[] projections, String suffix) {
+        var name = new StringBuilder(projections[0].getName());
+        for (var i = 1; i < projections.length; i++) {
+            name.append('$').append(projections[i].getSimpleName());
+        }
+        return name.append(suffix).toString();
+    }
+
+    private static Class<?> getOrCreateCompactClass(Class<?>... projections) {
+        return COMPACT_CACHE.get(() -> {
+            var cls = projections[0];
+            try {
+                var name = className(projections, "$CompactProxy");
+                return ProjectionClassDefiner.define(ProjectionClassDefiner.lookup(cls), cls.getClassLoader(), name, () -> {
+                    for (var p : projections) {
+                        ProjectionBytecodeCache.dependsOnHierarchy(p);
+                    }
+                    var properties = compactProperties(projections);
+                    var accessor = new CompactAccessor(name.replace('.', '/'), properties);
+                    DynamicType.Builder<?> type = BYTE_BUDDY
+                            .subclass(Object.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                            .name(name)
+                            .implement(projections);
+                    for (var property : properties.entrySet()) {
+                        type = type.defineField(property.getKey(), property.getValue().type(), Visibility.PRIVATE);
+                    }
+                    return type
+                            .defineConstructor(Visibility.PUBLIC)
+                            .withParameters(Map.class)
+                            .intercept(accessor.constructor())
+                            .method(not(isEquals().or(isHashCode()).or(isToString())))
+                            .intercept(accessor)
+                            .make();
+                });
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to create compact class for " + projections[0].getName(), e);
+            }
+        }, projections);
+    }
+
+    /**
+     * Properties of the projections by map key, typed by their getters or, for write only properties, their setters.
+     */
+    private static Map<String, CompactProperty> compactProperties(Class<?>... projections) {
+        var result = new LinkedHashMap<String, CompactProperty>();
+        var setters = new LinkedHashMap<String, Class<?>>();
+        for (var projection : projections) {
+            for (var m : projection.getMethods()) {
+                var name = m.getName();
+                if (Modifier.isStatic(m.getModifiers())) {
+                    continue;
+                }
+                if (m.getParameterCount() == 0 && !void.class.equals(m.getReturnType())) {
+                    if (name.startsWith("get") && name.length() > 3) {
+                        result.putIfAbsent(decapitalize(name.substring(3)), new CompactProperty(m.getReturnType(), listElement(m)));
+                    } else if (name.startsWith("is") && name.length() > 2) {
+                        result.putIfAbsent(decapitalize(name.substring(2)), new CompactProperty(m.getReturnType(), null));
+                    }
+                } else if (m.getParameterCount() == 1 && name.startsWith("set") && name.length() > 3) {
+                    setters.putIfAbsent(decapitalize(name.substring(3)), m.getParameterTypes()[0]);
+                }
+            }
+        }
+        setters.forEach((key, type) -> result.putIfAbsent(key, new CompactProperty(type, null)));
+        return result;
+    }
+
+    private static Class<?> listElement(Method method) {
+        if (List.class.equals(method.getReturnType()) && method.getGenericReturnType() instanceof ParameterizedType type
+                && type.getActualTypeArguments()[0] instanceof Class<?> element && !Object.class.equals(element)) {
+            return element;
+        }
+        return null;
+    }
+
     private static Class<?> getOrCreateProxyClass(Class<?>... projections) {
-        return CLASS_CACHE.computeIfAbsent(projections[0], cls -> {
+        var tracking = ProjectionSettings.isDirtyTracking();
+        return CLASS_CACHE.get(() -> {
+            var cls = projections[0];
             try {
-                return BYTE_BUDDY
-                        .subclass(TypeDescription.Generic.Builder
-                                .parameterizedType(CodeProxyBase.class, Map.class)
-                                .build())
-                        .name(cls.getName() + "$MapBackedProxy")
-                        .implement(projections)
-                        .defineConstructor(Visibility.PUBLIC)
-                        .withParameters(Map.class)
-                        .intercept(MethodCall.invoke(CodeProxyBase.class.getDeclaredConstructor())
-                                .andThen(FieldAccessor.ofField("value").setsArgumentAt(0)))
-                        .method(any())
-                        .intercept(MethodDelegation.to(MapInterceptor.class))
-                        .make()
-                        .load(projections[0].getClassLoader())
-                        .getLoaded();
+                var name = className(projections, (tracking ? CodeGenProjectionProvider.TRACKED_SUFFIX : "") + "$MapBackedProxy");
+                return ProjectionClassDefiner.define(ProjectionClassDefiner.lookup(cls), cls.getClassLoader(), name, () -> {
+                    for (var p : projections) {
+                        ProjectionBytecodeCache.dependsOnHierarchy(p);
+                    }
+                    var lists = new HashSet<String>();
+                    var owner = name.replace('.', '/');
+                    var tracked = tracking ? trackedProperties(projections) : null;
+                    DynamicType.Builder<?> type = BYTE_BUDDY
+                            .subclass(CodeMapProxyBase.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                            .name(name)
+                            .implement(projections);
+                    if (nonNull(tracked)) {
+                        type = type.implement(CodeProxyControl.class);
+                        for (var i = 0; i < DirtyTracking.fields(tracked.size()); i++) {
+                            type = type.defineField(DirtyTracking.field(i * Long.SIZE), long.class, Opcodes.ACC_PRIVATE);
+                        }
+                    }
+                    for (var p : projections) {
+                        for (var m : p.getMethods()) {
+                            if (m.getParameterCount() == 0 && m.getName().startsWith("get") && m.getName().length() > 3 && nonNull(listElement(m))
+                                    && lists.add(decapitalize(m.getName().substring(3)))) {
+                                type = type.defineField(LIST_FIELD_PREFIX + decapitalize(m.getName().substring(3)), Object.class, Opcodes.ACC_PRIVATE | Opcodes.ACC_TRANSIENT);
+                            }
+                        }
+                    }
+                    type = type
+                            .defineConstructor(Visibility.PUBLIC)
+                            .withParameters(Map.class)
+                            .intercept(MethodCall.invoke(getBaseConstructor()).withArgument(0))
+                            .method(not(isEquals().or(isHashCode()).or(isToString()).or(isDeclaredBy(CodeMapProxyBase.class)).or(isDeclaredBy(CodeProxyControl.class))))
+                            .intercept(new MapAccessor(owner, lists, tracked));
+                    if (nonNull(tracked)) {
+                        type = type
+                                .method(named(DirtyTracking.DIRTY).and(takesNoArguments()))
+                                .intercept(DirtyTracking.dirtyMethod(owner, tracked.keySet()))
+                                .method(named(DirtyTracking.CLEAN).and(takesNoArguments()))
+                                .intercept(DirtyTracking.cleanMethod(owner, tracked.size()));
+                    }
+                    return type.make();
+                });
             } catch (Exception e) {
                 throw new RuntimeException("Failed to create proxy class for " + projections[0].getName(), e);
             }
-        });
+        }, tracking ? trackedKey(projections) : projections);
+    }
+
+    private static Object[] trackedKey(Class<?>[] projections) {
+        var key = Arrays.copyOf(projections, projections.length + 1, Object[].class);
+        key[projections.length] = CodeGenProjectionProvider.TRACKED_SUFFIX;
+        return key;
+    }
+
+    /**
+     * Bit indexes of the properties written by the setters of the projections, see {@link DirtyTracking}.
+     */
+    private static Map<String, Integer> trackedProperties(Class<?>... projections) {
+        var result = new LinkedHashMap<String, Integer>();
+        for (var projection : projections) {
+            for (var m : projection.getMethods()) {
+                var name = m.getName();
+                if (!Modifier.isStatic(m.getModifiers()) && m.getParameterCount() == 1 && name.startsWith("set") && name.length() > 3) {
+                    result.putIfAbsent(decapitalize(name.substring(3)), result.size());
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Constructor<?> getBaseConstructor() {
+        try {
+            return CodeMapProxyBase.class.getDeclaredConstructor(Map.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static Class<?> warmUp(Class<?>... projections) {
+        return getOrCreateProxyClass(projections);
+    }
+
+    public static ProjectionClassCache.Statistics getCacheStatistics() {
+        return CLASS_CACHE.getStatistics();
+    }
+
+    /**
+     * Generates the body of every projection method against the backing map, with the same semantics as
+     * {@link MapInterceptor} but without reflection: the key is a constant, values of the return type are returned
+     * directly and only other values go through a {@link net.binis.codegen.projection.tools.ConversionSite}. Missing primitives return their
+     * default value. {@code List<E>} getters return a {@link CodeConvertingList} kept until the map holds another list.
+     * Setters of tracking projections mark their property dirty first (see {@link DirtyTracking}).
+     */
+    protected static final class MapAccessor extends CodeMethodImplementation {
+
+        private static final String MAP = "java/util/Map";
+        private static final String CONVERT_DESC = "(Ljava/lang/Object;Ljava/lang/Class;)Ljava/lang/Object;";
+
+        private final String owner;
+        private final Set<String> lists;
+        private final Map<String, Integer> tracked;
+
+        private MapAccessor(String owner, Set<String> lists, Map<String, Integer> tracked) {
+            this.owner = owner;
+            this.lists = lists;
+            this.tracked = tracked;
+        }
+
+        @Override
+        public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
+            var name = instrumentedMethod.getInternalName();
+            var params = instrumentedMethod.getParameters();
+            var ret = instrumentedMethod.getReturnType().asErasure();
+            var locals = 1 + params.stream().mapToInt(p -> p.getType().getStackSize().getSize()).sum();
+
+            if (params.isEmpty() && name.startsWith("get") && name.length() > 3) {
+                var key = decapitalize(name.substring(3));
+                loadValue(methodVisitor, key);
+                getter(methodVisitor, instrumentedMethod.getReturnType(), ret, key);
+            } else if (params.isEmpty() && name.startsWith("is") && name.length() > 2) {
+                loadValue(methodVisitor, decapitalize(name.substring(2)));
+                cast(methodVisitor, ret, true);
+            } else if (params.size() == 1 && name.startsWith("set") && name.length() > 3) {
+                var param = params.get(0).getType().asErasure();
+                var key = decapitalize(name.substring(3));
+                if (nonNull(tracked)) {
+                    DirtyTracking.mark(methodVisitor, owner, tracked.get(key));
+                }
+                loadMap(methodVisitor, key);
+                methodVisitor.visitVarInsn(Type.getType(param.getDescriptor()).getOpcode(Opcodes.ILOAD), 1);
+                if (param.isPrimitive()) {
+                    var boxed = param.asBoxed();
+                    methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, boxed.getInternalName(), "valueOf", "(" + param.getDescriptor() + ")" + boxed.getDescriptor(), false);
+                }
+                methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, MAP, "put", "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+                methodVisitor.visitInsn(Opcodes.POP);
+                defaultReturn(methodVisitor, ret);
+            } else {
+                unsupported(methodVisitor, instrumentedMethod);
+            }
+            return new ByteCodeAppender.Size(5, locals);
+        }
+
+        private static void unsupported(MethodVisitor methodVisitor, MethodDescription method) {
+            methodVisitor.visitTypeInsn(Opcodes.NEW, "java/lang/UnsupportedOperationException");
+            methodVisitor.visitInsn(Opcodes.DUP);
+            methodVisitor.visitLdcInsn("Method not supported: " + method);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/UnsupportedOperationException", "<init>", "(Ljava/lang/String;)V", false);
+            methodVisitor.visitInsn(Opcodes.ATHROW);
+        }
+
+        private static void loadMap(MethodVisitor methodVisitor, String key) {
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+            methodVisitor.visitFieldInsn(Opcodes.GETFIELD, Type.getInternalName(CodeProxyBase.class), "value", "Ljava/lang/Object;");
+            methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, MAP);
+            methodVisitor.visitLdcInsn(key);
+        }
+
+        private static void loadValue(MethodVisitor methodVisitor, String key) {
+            loadMap(methodVisitor, key);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, MAP, "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
+        }
+
+        private void getter(MethodVisitor methodVisitor, TypeDescription.Generic generic, TypeDescription ret, String key) {
+            var present = new Label();
+            var convert = new Label();
+            methodVisitor.visitInsn(Opcodes.DUP);
+            methodVisitor.visitJumpInsn(Opcodes.IFNONNULL, present);
+            methodVisitor.visitInsn(Opcodes.POP);
+            defaultReturn(methodVisitor, ret);
+
+            methodVisitor.visitLabel(present);
+            methodVisitor.visitFrame(Opcodes.F_SAME1, 0, null, 1, new Object[]{"java/lang/Object"});
+            var boxed = ret.asBoxed();
+            methodVisitor.visitInsn(Opcodes.DUP);
+            methodVisitor.visitTypeInsn(Opcodes.INSTANCEOF, boxed.getInternalName());
+            methodVisitor.visitJumpInsn(Opcodes.IFEQ, convert);
+            if (!ret.isPrimitive() && !ret.isFinal()) {
+                methodVisitor.visitInsn(Opcodes.DUP);
+                methodVisitor.visitTypeInsn(Opcodes.INSTANCEOF, "java/util/Collection");
+                methodVisitor.visitJumpInsn(Opcodes.IFNE, convert);
+            }
+            cast(methodVisitor, ret, false);
+
+            methodVisitor.visitLabel(convert);
+            methodVisitor.visitFrame(Opcodes.F_SAME1, 0, null, 1, new Object[]{"java/lang/Object"});
+            var element = listElement(generic, ret);
+            if (nonNull(element) && lists.contains(key)) {
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                methodVisitor.visitFieldInsn(Opcodes.GETFIELD, owner, LIST_FIELD_PREFIX + key, "Ljava/lang/Object;");
+                methodVisitor.visitInsn(Opcodes.SWAP);
+                methodVisitor.visitLdcInsn(Type.getType(element.getDescriptor()));
+                methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(CodeConvertingList.class), "of", "(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Class;)Ljava/lang/Object;", false);
+                methodVisitor.visitInsn(Opcodes.DUP);
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                methodVisitor.visitInsn(Opcodes.SWAP);
+                methodVisitor.visitFieldInsn(Opcodes.PUTFIELD, owner, LIST_FIELD_PREFIX + key, "Ljava/lang/Object;");
+            } else if (nonNull(element)) {
+                methodVisitor.visitLdcInsn(Type.getType(element.getDescriptor()));
+                methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(MapAccessor.class), "convertList", CONVERT_DESC, false);
+            } else {
+                CodeGenProjectionProvider.convert(methodVisitor, key, Type.getType(ret.getDescriptor()));
+            }
+            cast(methodVisitor, ret, ret.isPrimitive());
+        }
+
+        private static TypeDescription listElement(TypeDescription.Generic generic, TypeDescription ret) {
+            if (ret.represents(List.class) && generic.getSort().isParameterized()) {
+                var element = generic.getTypeArguments().get(0);
+                if (element.getSort().isNonGeneric() && !element.represents(Object.class)) {
+                    return element.asErasure();
+                }
+            }
+            return null;
+        }
+
+        private static void cast(MethodVisitor methodVisitor, TypeDescription ret, boolean nullable) {
+            if (ret.isPrimitive() && nullable) {
+                var present = new Label();
+                methodVisitor.visitInsn(Opcodes.DUP);
+                methodVisitor.visitJumpInsn(Opcodes.IFNONNULL, present);
+                methodVisitor.visitInsn(Opcodes.POP);
+                defaultReturn(methodVisitor, ret);
+                methodVisitor.visitLabel(present);
+                methodVisitor.visitFrame(Opcodes.F_SAME1, 0, null, 1, new Object[]{"java/lang/Object"});
+            }
+            cast(methodVisitor, ret);
+            methodVisitor.visitInsn(Type.getType(ret.getDescriptor()).getOpcode(Opcodes.IRETURN));
+        }
+
+        /**
+         * Casts the non-null object on the stack to the type, unboxing primitives.
+         */
+        private static void cast(MethodVisitor methodVisitor, TypeDescription ret) {
+            if (ret.isPrimitive()) {
+                var boxed = ret.asBoxed();
+                methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, boxed.getInternalName());
+                methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, boxed.getInternalName(), Type.getType(ret.getDescriptor()).getClassName() + "Value", "()" + ret.getDescriptor(), false);
+            } else if (!ret.represents(Object.class)) {
+                methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, ret.getInternalName());
+            }
+        }
+
+        private static void defaultReturn(MethodVisitor methodVisitor, TypeDescription ret) {
+            var type = Type.getType(ret.getDescriptor());
+            switch (type.getSort()) {
+                case Type.VOID -> {
+                    methodVisitor.visitInsn(Opcodes.RETURN);
+                    return;
+                }
+                case Type.OBJECT, Type.ARRAY -> methodVisitor.visitInsn(Opcodes.ACONST_NULL);
+                case Type.LONG -> methodVisitor.visitInsn(Opcodes.LCONST_0);
+                case Type.FLOAT -> methodVisitor.visitInsn(Opcodes.FCONST_0);
+                case Type.DOUBLE -> methodVisitor.visitInsn(Opcodes.DCONST_0);
+                default -> methodVisitor.visitInsn(Opcodes.ICONST_0);
+            }
+            methodVisitor.visitInsn(type.getOpcode(Opcodes.IRETURN));
+        }
+
+        /**
+         * Converts a value the same way as the generated getters do, returning the default value of primitives for
+         * {@code null}.
+         */
+        public static Object convert(Object value, Class<?> type, Class<?> element) {
+            if (isNull(value)) {
+                return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+            }
+            if (nonNull(element)) {
+                return convertList(value, element);
+            }
+            if (MethodType.methodType(type).wrap().returnType().isInstance(value) && !(value instanceof Collection)) {
+                return value;
+            }
+            return Mapper.convert(value, type);
+        }
+
+        public static Object convertList(Object value, Class<?> element) {
+            if (value instanceof List<?> list) {
+                return list.stream().map(o -> Mapper.convert(o, element)).toList();
+            }
+            return Mapper.convert(value, List.class);
+        }
+    }
+
+    private record CompactProperty(Class<?> type, Class<?> element) {
+    }
+
+    /**
+     * Generates the constructor copying the map into the fields of a compact projection, and its accessors.
+     */
+    protected static final class CompactAccessor extends CodeMethodImplementation {
+
+        private static final String CONVERT = "(Ljava/lang/Object;Ljava/lang/Class;Ljava/lang/Class;)Ljava/lang/Object;";
+
+        private final String owner;
+        private final Map<String, CompactProperty> properties;
+
+        private CompactAccessor(String owner, Map<String, CompactProperty> properties) {
+            this.owner = owner;
+            this.properties = properties;
+        }
+
+        private CodeMethodImplementation constructor() {
+            return new CodeMethodImplementation() {
+                @Override
+                public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
+                    methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                    methodVisitor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+                    for (var property : properties.entrySet()) {
+                        var type = property.getValue().type();
+                        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                        methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+                        methodVisitor.visitLdcInsn(property.getKey());
+                        methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, MapAccessor.MAP, "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
+                        convert(methodVisitor, type, property.getValue().element());
+                        methodVisitor.visitFieldInsn(Opcodes.PUTFIELD, owner, property.getKey(), Type.getDescriptor(type));
+                    }
+                    methodVisitor.visitInsn(Opcodes.RETURN);
+                    return new ByteCodeAppender.Size(5, 2);
+                }
+            };
+        }
+
+        @Override
+        public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
+            var name = instrumentedMethod.getInternalName();
+            var params = instrumentedMethod.getParameters();
+            var ret = instrumentedMethod.getReturnType().asErasure();
+            var locals = 1 + params.stream().mapToInt(p -> p.getType().getStackSize().getSize()).sum();
+
+            var key = params.isEmpty() && name.startsWith("get") && name.length() > 3 ? decapitalize(name.substring(3))
+                    : params.isEmpty() && name.startsWith("is") && name.length() > 2 ? decapitalize(name.substring(2))
+                    : params.size() == 1 && name.startsWith("set") && name.length() > 3 ? decapitalize(name.substring(3)) : null;
+            var property = nonNull(key) ? properties.get(key) : null;
+            if (isNull(property)) {
+                MapAccessor.unsupported(methodVisitor, instrumentedMethod);
+            } else if (params.isEmpty()) {
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                methodVisitor.visitFieldInsn(Opcodes.GETFIELD, owner, key, Type.getDescriptor(property.type()));
+                if (!ret.represents(property.type())) {
+                    box(methodVisitor, property.type());
+                    convert(methodVisitor, ret, null);
+                }
+                methodVisitor.visitInsn(Type.getType(ret.getDescriptor()).getOpcode(Opcodes.IRETURN));
+            } else {
+                var param = params.get(0).getType().asErasure();
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                methodVisitor.visitVarInsn(Type.getType(param.getDescriptor()).getOpcode(Opcodes.ILOAD), 1);
+                if (!param.represents(property.type())) {
+                    box(methodVisitor, param);
+                    convert(methodVisitor, property.type(), property.element());
+                }
+                methodVisitor.visitFieldInsn(Opcodes.PUTFIELD, owner, key, Type.getDescriptor(property.type()));
+                MapAccessor.defaultReturn(methodVisitor, ret);
+            }
+            return new ByteCodeAppender.Size(6, locals);
+        }
+
+        private static void box(MethodVisitor methodVisitor, Class<?> type) {
+            box(methodVisitor, TypeDescription.ForLoadedType.of(type));
+        }
+
+        private static void box(MethodVisitor methodVisitor, TypeDescription type) {
+            if (type.isPrimitive()) {
+                var boxed = type.asBoxed();
+                methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, boxed.getInternalName(), "valueOf", "(" + type.getDescriptor() + ")" + boxed.getDescriptor(), false);
+            }
+        }
+
+        private static void convert(MethodVisitor methodVisitor, Class<?> type, Class<?> element) {
+            convert(methodVisitor, TypeDescription.ForLoadedType.of(type), element);
+        }
+
+        /**
+         * Converts the value on the stack to the type through {@link MapAccessor#convert(Object, Class, Class)}.
+         */
+        private static void convert(MethodVisitor methodVisitor, TypeDescription type, Class<?> element) {
+            if (type.isPrimitive()) {
+                methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, type.asBoxed().getInternalName(), "TYPE", "Ljava/lang/Class;");
+            } else {
+                methodVisitor.visitLdcInsn(Type.getType(type.getDescriptor()));
+            }
+            if (nonNull(element)) {
+                methodVisitor.visitLdcInsn(Type.getType(element));
+            } else {
+                methodVisitor.visitInsn(Opcodes.ACONST_NULL);
+            }
+            methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(MapAccessor.class), "convert", CONVERT, false);
+            MapAccessor.cast(methodVisitor, type);
+        }
     }
 
+    /**
+     * Reflective implementation of map-backed projection methods, superseded by the generated {@link MapAccessor}.
+     */
     public static class MapInterceptor {
 
         @RuntimeType
@@ -106,10 +600,6 @@ public class MapBackedProjectionProvider {
                     return handleGetter(map, method, name.substring(3));
                 } else if (name.startsWith("is") && name.length() > 2) {
                     return map.get(decapitalize(name.substring(2)));
-                } else if (name.equals("toString")) {
-                    return map.toString();
-                } else if (name.equals("hashCode")) {
-                    return map.hashCode();
                 }
             }
 
@@ -118,10 +608,6 @@ public class MapBackedProjectionProvider {
                 return null;
             }
 
-            if (paramCount == 1 && name.equals("equals")) {
-                return handleEquals(map, args[0]);
-            }
-
             throw new UnsupportedOperationException("Method not supported: " + method);
         }
 
@@ -178,20 +664,5 @@ public class MapBackedProjectionProvider {
 
             return Mapper.convert(result, returnType);
         }
-
-        private static boolean handleEquals(Map<String, Object> map, Object other) {
-            if (other == null) return false;
-
-            if (other instanceof CodeProxyControl control) {
-                return map.equals(control._object$());
-            }
-
-            if (other instanceof CodeProxyBase<?> base) {
-                Object unwrapped = CodeProxyBase.unwrap(other);
-                return map.equals(unwrapped);
-            }
-
-            return false;
-        }
     }
 }
@@ -0,0 +1,184 @@
+package net.binis.codegen.projection.tools;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.projection.exception.ProjectionCreationException;
+import net.binis.codegen.projection.objects.CodeMethodImplementation;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.TypeResolutionStrategy;
+import net.bytebuddy.implementation.LoadedTypeInitializer;
+import net.bytebuddy.jar.asm.AnnotationVisitor;
+import net.bytebuddy.jar.asm.ClassWriter;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.jar.asm.Type;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Writes projection classes directly with an ASM {@link ClassWriter}, skipping the type modelling of ByteBuddy.
+ * Mirrors what {@link ByteBuddyProjectionClassBuilder} produces, including the imitated no-arg super constructor.
+ */
+public class AsmProjectionClassBuilder implements ProjectionClassBuilder {
+
+    private final ClassWriter writer = new ClassWriter(ProjectionSettings.isComputeFrames() ? ClassWriter.COMPUTE_FRAMES : 0);
+    private final Set<Class<?>> annotations = new HashSet<>();
+    private final String name;
+    private final int modifiers;
+    private final Class<?> superClass;
+    private final List<Class<?>> interfaces;
+
+    public AsmProjectionClassBuilder(String name, int modifiers, Class<?> superClass, List<Class<?>> interfaces) {
+        this.name = name;
+        this.modifiers = modifiers;
+        this.superClass = superClass;
+        this.interfaces = interfaces;
+        writer.visit(ClassFileVersion.ofThisVm().getMinorMajorVersion(), modifiers | Opcodes.ACC_SUPER, getInternalName(), null,
+                Type.getInternalName(superClass), interfaces.stream().map(Type::getInternalName).toArray(String[]::new));
+
+        var mv = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(superClass), "<init>", "()V", false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(1, 1);
+        mv.visitEnd();
+    }
+
+    @Override
+    public String getInternalName() {
+        return name.replace('.', '/');
+    }
+
+    @Override
+    public ProjectionClassBuilder annotateType(Annotation... annotations) {
+        for (var annotation : annotations) {
+            if (this.annotations.add(annotation.annotationType())) {
+                annotate(annotation, writer::visitAnnotation);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public ProjectionClassBuilder defineField(String name, Class<?> type, int modifiers) {
+        writer.visitField(modifiers, name, Type.getDescriptor(type), null, null).visitEnd();
+        return this;
+    }
+
+    @Override
+    public ProjectionClassBuilder defineConstructor(Class<?>[] types, CodeMethodImplementation code) {
+        return define("<init>", void.class, types, code);
+    }
+
+    @Override
+    public ProjectionClassBuilder defineMethod(String name, Class<?> ret, Class<?>[] types, CodeMethodImplementation code, Annotation... annotations) {
+        return define(name, ret, types, code, annotations);
+    }
+
+    @Override
+    public DynamicType.Unloaded<?> make() {
+        writer.visitEnd();
+        var description = new TypeDescription.Latent(name, modifiers, TypeDefinition.Sort.describe(superClass),
+                interfaces.stream().map(TypeDefinition.Sort::describe).toList());
+        return new DynamicType.Default.Unloaded<>(description, writer.toByteArray(), LoadedTypeInitializer.NoOp.INSTANCE, List.of(), TypeResolutionStrategy.Passive.INSTANCE);
+    }
+
+    protected ProjectionClassBuilder define(String name, Class<?> ret, Class<?>[] types, CodeMethodImplementation code, Annotation... annotations) {
+        var mv = writer.visitMethod(Opcodes.ACC_PUBLIC, name, Type.getMethodDescriptor(Type.getType(ret), toTypes(types)), null, null);
+        for (var annotation : annotations) {
+            annotate(annotation, mv::visitAnnotation);
+        }
+        mv.visitCode();
+        var size = code.code(mv, null, null);
+        var locals = 1;
+        for (var type : types) {
+            locals += long.class.equals(type) || double.class.equals(type) ? 2 : 1;
+        }
+        mv.visitMaxs(size.getOperandStackSize(), Math.max(size.getLocalVariableSize(), locals));
+        mv.visitEnd();
+        return this;
+    }
+
+    protected static Type[] toTypes(Class<?>[] types) {
+        var result = new Type[types.length];
+        for (var i = 0; i < types.length; i++) {
+            result[i] = Type.getType(types[i]);
+        }
+        return result;
+    }
+
+    protected static void annotate(Annotation annotation, BiFunction<String, Boolean, AnnotationVisitor> target) {
+        var retention = annotation.annotationType().getAnnotation(Retention.class);
+        if (isNull(retention) || retention.value() == RetentionPolicy.SOURCE) {
+            return;
+        }
+        var visitor = target.apply(Type.getDescriptor(annotation.annotationType()), retention.value() == RetentionPolicy.RUNTIME);
+        annotateValues(annotation, visitor);
+        visitor.visitEnd();
+    }
+
+    protected static void annotateValues(Annotation annotation, AnnotationVisitor visitor) {
+        for (var m : annotation.annotationType().getDeclaredMethods()) {
+            if (m.getParameterCount() == 0 && !Modifier.isStatic(m.getModifiers())) {
+                try {
+                    m.setAccessible(true);
+                    annotateValue(visitor, m.getName(), m.invoke(annotation));
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    throw new ProjectionCreationException("Unable to copy annotation: " + annotation, e);
+                }
+            }
+        }
+    }
+
+    protected static void annotateValue(AnnotationVisitor visitor, String name, Object value) {
+        if (value instanceof Class<?> cls) {
+            visitor.visit(name, Type.getType(cls));
+        } else if (value instanceof Enum<?> e) {
+            visitor.visitEnum(name, Type.getDescriptor(e.getDeclaringClass()), e.name());
+        } else if (value instanceof Annotation a) {
+            var nested = visitor.visitAnnotation(name, Type.getDescriptor(a.annotationType()));
+            annotateValues(a, nested);
+            nested.visitEnd();
+        } else if (value.getClass().isArray()) {
+            var array = visitor.visitArray(name);
+            for (var i = 0; i < Array.getLength(value); i++) {
+                annotateValue(array, null, Array.get(value, i));
+            }
+            array.visitEnd();
+        } else {
+            visitor.visit(name, value);
+        }
+    }
+
+}
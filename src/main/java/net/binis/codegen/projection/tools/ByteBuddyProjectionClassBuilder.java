@@ -0,0 +1,108 @@
+package net.binis.codegen.projection.tools;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.projection.objects.CodeMethodImplementation;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.asm.AsmVisitorWrapper;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.field.FieldList;
+import net.bytebuddy.description.method.MethodList;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.jar.asm.ClassVisitor;
+import net.bytebuddy.jar.asm.ClassWriter;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.pool.TypePool;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+
+/**
+ * Builds projection classes through the ByteBuddy {@link DynamicType.Builder}.
+ */
+public class ByteBuddyProjectionClassBuilder implements ProjectionClassBuilder {
+
+    private final String name;
+    private DynamicType.Builder<?> type;
+
+    public ByteBuddyProjectionClassBuilder(String name, int modifiers, Class<?> superClass, List<Class<?>> interfaces) {
+        this.name = name;
+        type = new ByteBuddy().subclass(superClass);
+        if (ProjectionSettings.isComputeFrames()) {
+            type = type.visit(new EnableFramesComputing());
+        }
+        type = type.name(name).modifiers(modifiers).implement(interfaces);
+    }
+
+    @Override
+    public String getInternalName() {
+        return name.replace('.', '/');
+    }
+
+    @Override
+    public ProjectionClassBuilder annotateType(Annotation... annotations) {
+        type = type.annotateType(annotations);
+        return this;
+    }
+
+    @Override
+    public ProjectionClassBuilder defineField(String name, Class<?> type, int modifiers) {
+        this.type = this.type.defineField(name, type, modifiers);
+        return this;
+    }
+
+    @Override
+    public ProjectionClassBuilder defineConstructor(Class<?>[] types, CodeMethodImplementation code) {
+        type = type.defineConstructor(Opcodes.ACC_PUBLIC).withParameters(types).intercept(code);
+        return this;
+    }
+
+    @Override
+    public ProjectionClassBuilder defineMethod(String name, Class<?> ret, Class<?>[] types, CodeMethodImplementation code, Annotation... annotations) {
+        type = type.defineMethod(name, ret, Opcodes.ACC_PUBLIC).withParameters(types).intercept(code).annotateMethod(annotations);
+        return this;
+    }
+
+    @Override
+    public DynamicType.Unloaded<?> make() {
+        return type.make();
+    }
+
+    protected static class EnableFramesComputing implements AsmVisitorWrapper {
+        @Override
+        public final int mergeWriter(int flags) {
+            return flags | ClassWriter.COMPUTE_FRAMES;
+        }
+
+        @Override
+        public final int mergeReader(int flags) {
+            return flags | ClassWriter.COMPUTE_FRAMES;
+        }
+
+        @Override
+        public final ClassVisitor wrap(TypeDescription td, ClassVisitor cv, Implementation.Context ctx, TypePool tp, FieldList<FieldDescription.InDefinedShape> fields, MethodList<?> methods, int wflags, int rflags) {
+            return cv;
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+package net.binis.codegen.projection.tools;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.map.Mapper;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Conversion call site of a generated projection class, resolved once per site through a {@code ConstantDynamic}
+ * constant.
+ * <p>
+ * The site is a monomorphic inline cache: it links the first non-null source class it sees and decides once whether
+ * values of that class need conversion at all. Values that are already instances of the target type are returned as
+ * they are, without calling {@link Mapper}. Other values of the linked class, values of any other class and
+ * {@code null} go through {@link Mapper#convert(Object, Class)}. Collections and maps are always converted, since
+ * their elements may need conversion too.
+ */
+public final class ConversionSite {
+
+    public static final String BOOTSTRAP = "bootstrap";
+    public static final String CONVERT = "convert";
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    private final Class<?> type;
+    private final Class<?> boxed;
+    private final boolean counted;
+    private volatile Target target;
+    private volatile boolean linked;
+
+    public ConversionSite(Class<?> type) {
+        this.type = type;
+        this.boxed = MethodType.methodType(type).wrap().returnType();
+        this.counted = ProjectionSettings.isConversionStatistics();
+    }
+
+    public static ConversionSite bootstrap(MethodHandles.Lookup lookup, String name, Class<?> type, Class<?> target) {
+        return new ConversionSite(target);
+    }
+
+    public Object convert(Object value) {
+        if (isNull(value)) {
+            return Mapper.convert(null, type);
+        }
+        var t = target;
+        if (nonNull(t) && t.source() == value.getClass()) {
+            if (counted) {
+                hits.increment();
+            }
+            return t.identity() ? value : Mapper.convert(value, type);
+        }
+        return miss(value);
+    }
+
+    private Object miss(Object value) {
+        if (counted) {
+            misses.increment();
+        }
+        if (!linked) {
+            synchronized (this) {
+                if (!linked) {
+                    linked = true;
+                    var cls = value.getClass();
+                    var identity = boxed.isAssignableFrom(cls) && !Collection.class.isAssignableFrom(cls) && !Map.class.isAssignableFrom(cls);
+                    target = new Target(cls, identity);
+                    if (identity) {
+                        return value;
+                    }
+                }
+            }
+        }
+        return Mapper.convert(value, type);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the number of conversions served by the linked class of their site (hits) and the ones that weren't
+     * (misses), over all sites created with {@link ProjectionSettings#isConversionStatistics()}. A high miss count
+     * means some sites see more than one source class.
+     */
+    public static Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum());
+    }
+
+    public static void resetStatistics() {
+        hits.reset();
+        misses.reset();
+    }
+
+    public record Statistics(long hits, long misses) {
+    }
+
+    private record Target(Class<?> source, boolean identity) {
+    }
+
+}
@@ -0,0 +1,263 @@
+package net.binis.codegen.projection.tools;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.projection.interfaces.CodeProxyControl;
+import net.binis.codegen.projection.objects.CodeMethodImplementation;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.jar.asm.ConstantDynamic;
+import net.bytebuddy.jar.asm.Handle;
+import net.bytebuddy.jar.asm.MethodVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+import static net.binis.codegen.projection.tools.ProjectionTools.decapitalize;
+
+/**
+ * Change tracking of generated projections, enabled by {@link ProjectionSettings#isDirtyTracking()}.
+ * <p>
+ * Setters of a tracking projection set the bit of their property in a {@code long} field of the projection, so
+ * tracking costs one field update per call and no allocation. Properties get their bits in the order their setters are
+ * generated, every 64 properties get another field ({@code dirty$0}, {@code dirty$1}, ...). The property names are a
+ * {@code ConstantDynamic} list resolved once per class.
+ */
+public final class DirtyTracking {
+
+    public static final String FIELD_NAME = "dirty$";
+    public static final String DIRTY = "_dirty$";
+    public static final String CLEAN = "_clean$";
+
+    private static final String OWNER = "net/binis/codegen/projection/tools/DirtyTracking";
+    private static final Handle INVOKE = new Handle(Opcodes.H_INVOKESTATIC, "java/lang/invoke/ConstantBootstraps", "invoke",
+            "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;Ljava/lang/invoke/MethodHandle;[Ljava/lang/Object;)Ljava/lang/Object;", false);
+    private static final Handle LIST_OF = new Handle(Opcodes.H_INVOKESTATIC, "java/util/List", "of", "([Ljava/lang/Object;)Ljava/util/List;", true);
+
+    private static final ClassValue<Map<String, Method>> GETTERS = new ClassValue<>() {
+        @Override
+        protected Map<String, Method> computeValue(Class<?> type) {
+            var result = new HashMap<String, Method>();
+            for (var m : type.getMethods()) {
+                var name = m.getName();
+                if (m.getParameterCount() != 0 || void.class.equals(m.getReturnType()) || Modifier.isStatic(m.getModifiers())) {
+                    continue;
+                }
+                if (name.startsWith("get") && name.length() > 3) {
+                    result.putIfAbsent(decapitalize(name.substring(3)), m);
+                } else if (name.startsWith("is") && name.length() > 2) {
+                    result.putIfAbsent(decapitalize(name.substring(2)), m);
+                }
+            }
+            return result;
+        }
+    };
+
+    private DirtyTracking() {
+        //Do nothing
+    }
+
+    /**
+     * Number of tracking fields needed for the properties.
+     */
+    public static int fields(int properties) {
+        return Math.max(1, (properties + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    /**
+     * Name of the tracking field holding the bit of the property.
+     */
+    public static String field(int index) {
+        return FIELD_NAME + index / Long.SIZE;
+    }
+
+    /**
+     * Returns the names of the properties whose bits are set, one {@code long} per 64 properties.
+     */
+    public static Set<String> properties(long[] bits, List<String> properties) {
+        var result = new LinkedHashSet<String>();
+        for (var i = 0; i < properties.size(); i++) {
+            if ((bits[i / Long.SIZE] & (1L << i)) != 0L) {
+                result.add(properties.get(i));
+            }
+        }
+        return result.isEmpty() ? Set.of() : Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * Returns the changed properties of the projection with their current values, read from its getters or, for
+     * write only properties, from the getters of the projected object. Map-backed projections read the map.
+     */
+    public static Map<String, Object> changes(CodeProxyControl projection) {
+        var result = new LinkedHashMap<String, Object>();
+        var object = projection._object$();
+        for (var property : projection._dirty$()) {
+            result.put(property, object instanceof Map<?, ?> map ? map.get(property) : read(projection, object, property));
+        }
+        return result;
+    }
+
+    /**
+     * Coalesces the changes of many projections. The projected objects are grouped by their set of changed properties
+     * and every group is handed to the batch once, e.g. as one batched update of those columns. Projections without
+     * changes are skipped, the others are cleaned after the batch of their group returns.
+     */
+    public static void flush(Iterable<?> projections, BiConsumer<Set<String>, List<Object>> batch) {
+        var groups = new LinkedHashMap<Set<String>, List<CodeProxyControl>>();
+        for (var projection : projections) {
+            var control = (CodeProxyControl) projection;
+            var dirty = control._dirty$();
+            if (!dirty.isEmpty()) {
+                groups.computeIfAbsent(dirty, k -> new ArrayList<>()).add(control);
+            }
+        }
+
+        for (var group : groups.entrySet()) {
+            var objects = new ArrayList<>(group.getValue().size());
+            for (var control : group.getValue()) {
+                objects.add(control._object$());
+            }
+            batch.accept(group.getKey(), objects);
+            group.getValue().forEach(CodeProxyControl::_clean$);
+        }
+    }
+
+    private static Object read(Object projection, Object object, String property) {
+        var target = projection;
+        var getter = GETTERS.get(projection.getClass()).get(property);
+        if (isNull(getter) && !isNull(object)) {
+            target = object;
+            getter = GETTERS.get(object.getClass()).get(property);
+        }
+        if (isNull(getter)) {
+            return null;
+        }
+        try {
+            getter.trySetAccessible();
+            return getter.invoke(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Can't read property " + property + " of " + target.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Sets the bit of the property in its tracking field of {@code this}. Needs 5 operand stack slots.
+     */
+    public static void mark(MethodVisitor methodVisitor, String owner, int index) {
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        methodVisitor.visitInsn(Opcodes.DUP);
+        methodVisitor.visitFieldInsn(Opcodes.GETFIELD, owner, field(index), "J");
+        methodVisitor.visitLdcInsn(1L << index);
+        methodVisitor.visitInsn(Opcodes.LOR);
+        methodVisitor.visitFieldInsn(Opcodes.PUTFIELD, owner, field(index), "J");
+    }
+
+    /**
+     * Clears the tracking fields of {@code this} through its {@code _clean$} method. Needs 1 operand stack slot.
+     */
+    public static void clean(MethodVisitor methodVisitor, String owner) {
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, owner, CLEAN, "()V", false);
+    }
+
+    /**
+     * Runs the code after marking the property dirty.
+     */
+    public static CodeMethodImplementation marking(String owner, int index, CodeMethodImplementation code) {
+        return prefixed(code, methodVisitor -> mark(methodVisitor, owner, index), 5);
+    }
+
+    /**
+     * Runs the code after forgetting the recorded changes.
+     */
+    public static CodeMethodImplementation cleaning(String owner, CodeMethodImplementation code) {
+        return prefixed(code, methodVisitor -> clean(methodVisitor, owner), 1);
+    }
+
+    /**
+     * Implements {@link CodeProxyControl#_dirty$()} for the given properties, in bit order.
+     */
+    public static CodeMethodImplementation dirtyMethod(String owner, Collection<String> properties) {
+        var fields = fields(properties.size());
+        var args = new Object[properties.size() + 1];
+        args[0] = LIST_OF;
+        var i = 1;
+        for (var property : properties) {
+            args[i++] = property;
+        }
+        var names = new ConstantDynamic("properties", "Ljava/util/List;", INVOKE, args);
+        return new CodeMethodImplementation() {
+            @Override
+            public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
+                methodVisitor.visitLdcInsn(fields);
+                methodVisitor.visitIntInsn(Opcodes.NEWARRAY, Opcodes.T_LONG);
+                for (var i = 0; i < fields; i++) {
+                    methodVisitor.visitInsn(Opcodes.DUP);
+                    methodVisitor.visitLdcInsn(i);
+                    methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                    methodVisitor.visitFieldInsn(Opcodes.GETFIELD, owner, field(i * Long.SIZE), "J");
+                    methodVisitor.visitInsn(Opcodes.LASTORE);
+                }
+                methodVisitor.visitLdcInsn(names);
+                methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, OWNER, "properties", "([JLjava/util/List;)Ljava/util/Set;", false);
+                methodVisitor.visitInsn(Opcodes.ARETURN);
+                return new ByteCodeAppender.Size(5, 1);
+            }
+        };
+    }
+
+    /**
+     * Implements {@link CodeProxyControl#_clean$()} for the given number of properties.
+     */
+    public static CodeMethodImplementation cleanMethod(String owner, int properties) {
+        var fields = fields(properties);
+        return new CodeMethodImplementation() {
+            @Override
+            public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
+                for (var i = 0; i < fields; i++) {
+                    methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                    methodVisitor.visitInsn(Opcodes.LCONST_0);
+                    methodVisitor.visitFieldInsn(Opcodes.PUTFIELD, owner, field(i * Long.SIZE), "J");
+                }
+                methodVisitor.visitInsn(Opcodes.RETURN);
+                return new ByteCodeAppender.Size(3, 1);
+            }
+        };
+    }
+
+    private static CodeMethodImplementation prefixed(CodeMethodImplementation code, Consumer<MethodVisitor> prefix, int stack) {
+        return new CodeMethodImplementation() {
+            @Override
+            public ByteCodeAppender.Size code(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
+                prefix.accept(methodVisitor);
+                var size = code.code(methodVisitor, implementationContext, instrumentedMethod);
+                return new ByteCodeAppender.Size(Math.max(size.getOperandStackSize(), stack), size.getLocalVariableSize());
+            }
+        };
+    }
+
+}
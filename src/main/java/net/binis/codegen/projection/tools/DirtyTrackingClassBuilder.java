@@ -0,0 +1,94 @@
+package net.binis.codegen.projection.tools;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.projection.objects.CodeMethodImplementation;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.jar.asm.Opcodes;
+
+import java.lang.annotation.Annotation;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static net.binis.codegen.projection.tools.ProjectionTools.decapitalize;
+
+/**
+ * Decorates a {@link ProjectionClassBuilder} so every setter of the projection marks its property dirty before it
+ * runs, and implements {@code _dirty$} and {@code _clean$} of the class (see {@link DirtyTracking}). Rebinding the
+ * projection forgets the recorded changes.
+ */
+public class DirtyTrackingClassBuilder implements ProjectionClassBuilder {
+
+    private final ProjectionClassBuilder builder;
+    private final Map<String, Integer> properties = new LinkedHashMap<>();
+
+    public DirtyTrackingClassBuilder(ProjectionClassBuilder builder) {
+        this.builder = builder;
+    }
+
+    @Override
+    public String getInternalName() {
+        return builder.getInternalName();
+    }
+
+    @Override
+    public ProjectionClassBuilder annotateType(Annotation... annotations) {
+        builder.annotateType(annotations);
+        return this;
+    }
+
+    @Override
+    public ProjectionClassBuilder defineField(String name, Class<?> type, int modifiers) {
+        builder.defineField(name, type, modifiers);
+        return this;
+    }
+
+    @Override
+    public ProjectionClassBuilder defineConstructor(Class<?>[] types, CodeMethodImplementation code) {
+        builder.defineConstructor(types, code);
+        return this;
+    }
+
+    @Override
+    public ProjectionClassBuilder defineMethod(String name, Class<?> ret, Class<?>[] types, CodeMethodImplementation code, Annotation... annotations) {
+        if (types.length == 1 && name.startsWith("set") && name.length() > 3) {
+            var index = properties.computeIfAbsent(decapitalize(name.substring(3)), k -> properties.size());
+            code = DirtyTracking.marking(getInternalName(), index, code);
+        } else if (types.length == 1 && "_rebind$".equals(name)) {
+            code = DirtyTracking.cleaning(getInternalName(), code);
+        }
+        builder.defineMethod(name, ret, types, code, annotations);
+        return this;
+    }
+
+    @Override
+    public DynamicType.Unloaded<?> make() {
+        var owner = getInternalName();
+        for (var i = 0; i < DirtyTracking.fields(properties.size()); i++) {
+            builder.defineField(DirtyTracking.field(i * Long.SIZE), long.class, Opcodes.ACC_PRIVATE);
+        }
+        return builder.defineMethod(DirtyTracking.DIRTY, Set.class, new Class<?>[0], DirtyTracking.dirtyMethod(owner, properties.keySet()))
+                .defineMethod(DirtyTracking.CLEAN, void.class, new Class<?>[0], DirtyTracking.cleanMethod(owner, properties.size()))
+                .make();
+    }
+
+}
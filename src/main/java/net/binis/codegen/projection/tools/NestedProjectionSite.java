@@ -0,0 +1,91 @@
+package net.binis.codegen.projection.tools;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.factory.CodeFactory;
+import net.binis.codegen.factory.ProjectionInstantiation;
+import net.binis.codegen.projection.provider.CodeGenProjectionProvider;
+
+import java.lang.invoke.MethodHandles;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Nested projection call site of a generated projection class, resolved once per site through a
+ * {@code ConstantDynamic} constant.
+ * <p>
+ * The site links the instantiation of the first projected class and creates nested projections of that class
+ * directly. Values of any other class, custom proxy classes (collections, maps) and projections with an identity cache
+ * go through {@link CodeFactory#projection(Object, Class)}.
+ */
+public final class NestedProjectionSite {
+
+    public static final String BOOTSTRAP = "bootstrap";
+    public static final String PROJECT = "project";
+
+    private static final CodeGenProjectionProvider provider = new CodeGenProjectionProvider();
+
+    private final Class<?> projection;
+    private volatile Target target;
+    private volatile boolean linked;
+
+    public NestedProjectionSite(Class<?> projection) {
+        this.projection = projection;
+    }
+
+    public static NestedProjectionSite bootstrap(MethodHandles.Lookup lookup, String name, Class<?> type, Class<?> projection) {
+        return new NestedProjectionSite(projection);
+    }
+
+    public Object project(Object value) {
+        if (isNull(value)) {
+            return null;
+        }
+        var t = target;
+        if (t != null && t.type() == value.getClass()) {
+            return t.instantiation().create(value);
+        }
+        return miss(value);
+    }
+
+    private Object miss(Object value) {
+        var cls = value.getClass();
+        if (!linked && !ProjectionSettings.isIdentityCache() && !CodeFactory.isCustomProxyClass(cls)) {
+            synchronized (this) {
+                if (!linked) {
+                    linked = true;
+                    var instantiation = provider.create(cls, projection);
+                    target = new Target(cls, instantiation);
+                    return instantiation.create(value);
+                }
+            }
+        }
+        return CodeFactory.projection(value, projection);
+    }
+
+    public Class<?> getProjection() {
+        return projection;
+    }
+
+    private record Target(Class<?> type, ProjectionInstantiation instantiation) {
+    }
+
+}
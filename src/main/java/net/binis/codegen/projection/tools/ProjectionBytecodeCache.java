@@ -0,0 +1,194 @@
+package net.binis.codegen.projection.tools;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import lombok.extern.slf4j.Slf4j;
+import net.bytebuddy.dynamic.DynamicType;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Opt-in on-disk cache of generated class bytes (see {@link ProjectionSettings#getCacheDirectory()}).
+ * <p>
+ * Every entry lists the classes whose reflection data was consulted while generating it, together with a hash of
+ * their class files, the library version, the Java version and a hash of the settings that shape the generated code.
+ * An entry is only used while all of them still match, otherwise the class is generated again and the entry is
+ * replaced. Classes are defined by {@link ProjectionClassDefiner}.
+ */
+@Slf4j
+public final class ProjectionBytecodeCache {
+
+    private static final String VERSION = "2/" + Optional.ofNullable(ProjectionBytecodeCache.class.getPackage().getImplementationVersion()).orElse("development") + "/" + Runtime.version().feature();
+    private static final String EXTENSION = ".bytecode";
+    private static final ThreadLocal<Set<Class<?>>> dependencies = new ThreadLocal<>();
+
+    private ProjectionBytecodeCache() {
+        //Do nothing
+    }
+
+    public static boolean isEnabled() {
+        return nonNull(ProjectionSettings.getCacheDirectory());
+    }
+
+    /**
+     * Registers a class whose structure affects the class currently being generated.
+     */
+    public static void dependsOn(Class<?> cls) {
+        var set = dependencies.get();
+        if (nonNull(set)) {
+            while (cls.isArray()) {
+                cls = cls.getComponentType();
+            }
+            if (nonNull(cls.getClassLoader())) {
+                set.add(cls);
+            }
+        }
+    }
+
+    public static void dependsOnHierarchy(Class<?> cls) {
+        if (nonNull(dependencies.get()) && nonNull(cls)) {
+            dependsOn(cls);
+            dependsOnHierarchy(cls.getSuperclass());
+            for (var i : cls.getInterfaces()) {
+                dependsOnHierarchy(i);
+            }
+        }
+    }
+
+    public static byte[] read(ClassLoader loader, String name) {
+        var file = file(name);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (!VERSION.equals(in.readUTF())) {
+                log.debug("Cached class {} was generated by another version", name);
+                return null;
+            }
+            if (!settings().equals(in.readUTF())) {
+                log.debug("Cached class {} was generated with other settings", name);
+                return null;
+            }
+            var names = new ArrayList<String>();
+            for (var i = in.readInt(); i > 0; i--) {
+                names.add(in.readUTF());
+            }
+            var hash = in.readUTF();
+            if (!hash.equals(hash(loader, names))) {
+                log.debug("Cached class {} is stale", name);
+                return null;
+            }
+            return in.readNBytes(in.readInt());
+        } catch (IOException e) {
+            log.warn("Unable to read cached class {}", name, e);
+            return null;
+        }
+    }
+
+    public static DynamicType.Unloaded<?> generate(ClassLoader loader, String name, Supplier<DynamicType.Unloaded<?>> generator) {
+        var previous = dependencies.get();
+        var set = new LinkedHashSet<Class<?>>();
+        dependencies.set(set);
+        DynamicType.Unloaded<?> result;
+        try {
+            result = generator.get();
+        } finally {
+            dependencies.set(previous);
+        }
+
+        if (result.getAuxiliaryTypes().isEmpty() && result.getLoadedTypeInitializers().values().stream().noneMatch(i -> i.isAlive())) {
+            write(loader, name, set.stream().map(Class::getName).toList(), result.getBytes());
+        }
+        return result;
+    }
+
+    public static void write(ClassLoader loader, String name, List<String> names, byte[] bytes) {
+        var hash = hash(loader, names);
+        if (isNull(hash)) {
+            return;
+        }
+
+        var file = file(name);
+        try {
+            Files.createDirectories(file.getParent());
+            var temp = Files.createTempFile(file.getParent(), name, ".tmp");
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeUTF(VERSION);
+                out.writeUTF(settings());
+                out.writeInt(names.size());
+                for (var n : names) {
+                    out.writeUTF(n);
+                }
+                out.writeUTF(hash);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Unable to cache class {}", name, e);
+        }
+    }
+
+    /**
+     * Hash of the settings that change the generated bytecode. Rebindable classes are told apart by their names.
+     */
+    private static String settings() {
+        var settings = String.join(",", String.valueOf(ProjectionSettings.isComputeFrames()), ProjectionSettings.getBackend().name(),
+                ProjectionSettings.getLinkage().name(), String.valueOf(ProjectionSettings.isDirtyTracking()));
+        return Integer.toHexString(settings.hashCode());
+    }
+
+    private static String hash(ClassLoader loader, List<String> names) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            for (var n : names) {
+                try (var stream = loader.getResourceAsStream(n.replace('.', '/') + ".class")) {
+                    if (isNull(stream)) {
+                        return null;
+                    }
+                    digest.update(n.getBytes(StandardCharsets.UTF_8));
+                    digest.update(stream.readAllBytes());
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | IOException e) {
+            log.warn("Unable to hash classes {}", names, e);
+            return null;
+        }
+    }
+
+    private static Path file(String name) {
+        return ProjectionSettings.getCacheDirectory().resolve(name + EXTENSION);
+    }
+
+}
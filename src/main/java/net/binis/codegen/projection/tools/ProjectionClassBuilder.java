@@ -0,0 +1,57 @@
+package net.binis.codegen.projection.tools;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.projection.objects.CodeMethodImplementation;
+import net.bytebuddy.dynamic.DynamicType;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+
+/**
+ * Assembles a projection class around method bodies written by {@link CodeMethodImplementation}s. The backend is
+ * selected by {@link ProjectionSettings#getBackend()}.
+ */
+public interface ProjectionClassBuilder {
+
+    static ProjectionClassBuilder create(String name, int modifiers, Class<?> superClass, List<Class<?>> interfaces) {
+        return switch (ProjectionSettings.getBackend()) {
+            case BYTE_BUDDY -> new ByteBuddyProjectionClassBuilder(name, modifiers, superClass, interfaces);
+            case ASM -> new AsmProjectionClassBuilder(name, modifiers, superClass, interfaces);
+        };
+    }
+
+    /**
+     * Internal name of the class being built, to be used as owner of its own members.
+     */
+    String getInternalName();
+
+    ProjectionClassBuilder annotateType(Annotation... annotations);
+
+    ProjectionClassBuilder defineField(String name, Class<?> type, int modifiers);
+
+    ProjectionClassBuilder defineConstructor(Class<?>[] types, CodeMethodImplementation code);
+
+    ProjectionClassBuilder defineMethod(String name, Class<?> ret, Class<?>[] types, CodeMethodImplementation code, Annotation... annotations);
+
+    DynamicType.Unloaded<?> make();
+
+}
@@ -0,0 +1,278 @@
+package net.binis.codegen.projection.tools;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.projection.exception.ProjectionCreationException;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Cache of generated classes that doesn't pin class loaders.
+ * <p>
+ * Entries are scoped by the first key class through a {@link ClassValue}, so they are only reachable through that
+ * class and go away together with its class loader. Classes of the bootstrap class loader are never unloaded and would
+ * keep their entries forever, so when the first key class is one of them the entry is scoped by the first key class
+ * that isn't, or by this class when there is none. The remaining key classes are compared by identity and held
+ * through weak references, so same-named classes of different class loaders get different entries. Other key parts
+ * (e.g. name suffixes) are compared by equality.
+ * <p>
+ * The total number of entries is bounded by {@link ProjectionSettings#getMaxClasses()}, evicting approximately least
+ * recently used ones: hits only set a reference flag once, and eviction sweeps the generated entries in insertion
+ * order, giving referenced entries a second chance (the CLOCK algorithm). Only one thread evicts at a time, the others
+ * don't wait for it. Entries that are still being generated are never evicted.
+ * <p>
+ * Generation is single-flight and runs outside of any lock: the first thread claims the key with a future and
+ * generates the class, concurrent callers for the same key wait on that future. A generator that requests its own
+ * key again fails with {@link ProjectionCreationException} instead of deadlocking.
+ */
+public class ProjectionClassCache {
+
+    private final ClassValue<Map<Key, Entry>> scopes = new ClassValue<>() {
+        @Override
+        protected Map<Key, Entry> computeValue(Class<?> type) {
+            synchronized (owners) {
+                owners.put(type, Boolean.TRUE);
+            }
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private final Map<Class<?>, Boolean> owners = new WeakHashMap<>();
+    private final Queue<WeakReference<Entry>> clock = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evicting = new ReentrantLock();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final ThreadLocal<Set<Entry>> generating = ThreadLocal.withInitial(HashSet::new);
+
+    /**
+     * Returns the class cached for the key, generating it on the first request. The first key part must be a class.
+     */
+    public Class<?> get(Supplier<Class<?>> generator, Object... key) {
+        var owner = owner(key);
+        var scope = scopes.get(owner);
+        var k = new Key(key, owner == key[0] ? 1 : 0);
+        var entry = scope.get(k);
+        if (isNull(entry)) {
+            var stored = k.stored();
+            var created = new Entry(stored, scope);
+            entry = scope.putIfAbsent(stored, created);
+            if (isNull(entry)) {
+                misses.increment();
+                return generate(scope, created, generator);
+            }
+        }
+
+        hits.increment();
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        return await(entry, k);
+    }
+
+    protected static Class<?> owner(Object[] key) {
+        for (var part : key) {
+            if (part instanceof Class<?> cls && nonNull(cls.getClassLoader())) {
+                return cls;
+            }
+        }
+        return ProjectionClassCache.class;
+    }
+
+    protected Class<?> generate(Map<Key, Entry> scope, Entry entry, Supplier<Class<?>> generator) {
+        var current = generating.get();
+        current.add(entry);
+        try {
+            var result = generator.get();
+            entry.future.complete(result);
+        } catch (RuntimeException | Error e) {
+            scope.remove(entry.key, entry);
+            entry.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            current.remove(entry);
+        }
+
+        clock.add(new WeakReference<>(entry));
+        var max = ProjectionSettings.getMaxClasses();
+        if (size.incrementAndGet() > max && max > 0) {
+            evict(max);
+        }
+        return entry.future.join();
+    }
+
+    protected Class<?> await(Entry entry, Key key) {
+        if (!entry.future.isDone() && generating.get().contains(entry)) {
+            throw new ProjectionCreationException("Recursive generation of " + key);
+        }
+
+        try {
+            return entry.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException ex) {
+                throw ex;
+            }
+            if (e.getCause() instanceof Error err) {
+                throw err;
+            }
+            throw e;
+        }
+    }
+
+    public void clear() {
+        synchronized (owners) {
+            for (var owner : owners.keySet()) {
+                scopes.get(owner).clear();
+            }
+            clock.clear();
+            size.set(0);
+        }
+    }
+
+    public Statistics getStatistics() {
+        synchronized (owners) {
+            var count = 0L;
+            for (var owner : owners.keySet()) {
+                count += scopes.get(owner).size();
+            }
+            return new Statistics(hits.sum(), misses.sum(), evictions.sum(), count);
+        }
+    }
+
+    /**
+     * Sweeps the generated entries until the cache fits. Entries of collected scopes only release their slot.
+     */
+    protected void evict(int max) {
+        if (!evicting.tryLock()) {
+            return;
+        }
+        try {
+            for (var sweeps = 2 * size.get(); size.get() > max && sweeps > 0; sweeps--) {
+                var ref = clock.poll();
+                if (isNull(ref)) {
+                    return;
+                }
+                var entry = ref.get();
+                if (isNull(entry)) {
+                    size.decrementAndGet();
+                } else if (entry.referenced || !entry.future.isDone()) {
+                    entry.referenced = false;
+                    clock.add(ref);
+                } else {
+                    size.decrementAndGet();
+                    if (entry.scope.remove(entry.key, entry)) {
+                        evictions.increment();
+                    }
+                }
+            }
+        } finally {
+            evicting.unlock();
+        }
+    }
+
+    public record Statistics(long hits, long misses, long evictions, long size) {
+    }
+
+    private static final class Entry {
+
+        private final Key key;
+        private final Map<Key, Entry> scope;
+        private final CompletableFuture<Class<?>> future = new CompletableFuture<>();
+        private volatile boolean referenced;
+
+        Entry(Key key, Map<Key, Entry> scope) {
+            this.key = key;
+            this.scope = scope;
+        }
+    }
+
+    private static final class Key {
+
+        private final Object[] parts;
+        private final int first;
+        private final int hash;
+
+        Key(Object[] parts, int first) {
+            this.parts = parts;
+            this.first = first;
+            var h = 1;
+            for (var i = first; i < parts.length; i++) {
+                var part = part(i);
+                h = 31 * h + (part instanceof Class<?> ? System.identityHashCode(part) : Objects.hashCode(part));
+            }
+            hash = h;
+        }
+
+        Key stored() {
+            var stored = new Object[parts.length];
+            for (var i = first; i < parts.length; i++) {
+                stored[i] = parts[i] instanceof Class<?> cls ? new WeakReference<>(cls) : parts[i];
+            }
+            return new Key(stored, first);
+        }
+
+        private Object part(int i) {
+            return parts[i] instanceof WeakReference<?> ref ? ref.get() : parts[i];
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o instanceof Key key && key.hash == hash && key.first == first && key.parts.length == parts.length) {
+                for (var i = first; i < parts.length; i++) {
+                    var part = part(i);
+                    var other = key.part(i);
+                    if (part instanceof Class<?> ? part != other : !Objects.equals(part, other)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            var result = new ArrayList<>();
+            for (var i = first; i < parts.length; i++) {
+                result.add(part(i));
+            }
+            return result.toString();
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package net.binis.codegen.projection.tools;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import lombok.extern.slf4j.Slf4j;
+import net.binis.codegen.projection.exception.ProjectionCreationException;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Defines generated classes according to {@link ProjectionSettings#getLoading()}.
+ * <p>
+ * In {@link ProjectionSettings.Loading#WRAPPER} mode every class gets its own wrapping class loader, the same way
+ * ByteBuddy loads classes by default. In {@link ProjectionSettings.Loading#HIDDEN} mode classes are defined as hidden
+ * nestmates of a host class through {@link MethodHandles.Lookup#defineHiddenClass}. They share the host's class loader
+ * and are unloaded as soon as they are no longer referenced. The generated class has to be named in the host's package.
+ */
+@Slf4j
+public final class ProjectionClassDefiner {
+
+    private ProjectionClassDefiner() {
+        //Do nothing
+    }
+
+    /**
+     * Returns a lookup able to define hidden classes in the package of the first suitable host, or {@code null} when
+     * hidden classes are disabled or none of the hosts can be used.
+     */
+    public static MethodHandles.Lookup lookup(Class<?>... hosts) {
+        if (ProjectionSettings.getLoading() == ProjectionSettings.Loading.HIDDEN) {
+            for (var host : hosts) {
+                try {
+                    var lookup = MethodHandles.privateLookupIn(host, MethodHandles.lookup());
+                    if (lookup.hasFullPrivilegeAccess()) {
+                        return lookup;
+                    }
+                } catch (IllegalAccessException | SecurityException e) {
+                    log.debug("Unable to use {} as hidden class host", host.getName());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Defines the class, reusing the bytes from {@link ProjectionBytecodeCache} when available.
+     */
+    public static Class<?> define(MethodHandles.Lookup lookup, ClassLoader loader, String name, Supplier<DynamicType.Unloaded<?>> generator) {
+        if (ProjectionBytecodeCache.isEnabled()) {
+            var bytes = ProjectionBytecodeCache.read(loader, name);
+            if (nonNull(bytes)) {
+                return define(lookup, loader, name, bytes);
+            }
+            return define(lookup, loader, ProjectionBytecodeCache.generate(loader, name, generator));
+        }
+
+        return define(lookup, loader, generator.get());
+    }
+
+    public static Class<?> define(MethodHandles.Lookup lookup, ClassLoader loader, DynamicType.Unloaded<?> type) {
+        if (!type.getAuxiliaryTypes().isEmpty()) {
+            return type.load(loader).getLoaded();
+        }
+
+        var description = type.getTypeDescription();
+        var result = define(lookup, loader, description.getName(), type.getBytes());
+        var initializer = type.getLoadedTypeInitializers().get(description);
+        if (nonNull(initializer)) {
+            initializer.onLoad(result);
+        }
+        return result;
+    }
+
+    public static Class<?> define(MethodHandles.Lookup lookup, ClassLoader loader, String name, byte[] bytes) {
+        if (nonNull(lookup)) {
+            try {
+                return lookup.defineHiddenClass(bytes, true, MethodHandles.Lookup.ClassOption.NESTMATE).lookupClass();
+            } catch (IllegalAccessException e) {
+                throw new ProjectionCreationException("Unable to define hidden class: " + name, e);
+            }
+        }
+
+        try {
+            return new ByteArrayClassLoader(loader, Map.of(name, bytes)).loadClass(name);
+        } catch (ClassNotFoundException e) {
+            throw new ProjectionCreationException("Unable to define class: " + name, e);
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+package net.binis.codegen.projection.tools;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import lombok.extern.slf4j.Slf4j;
+import net.binis.codegen.objects.Pair;
+import net.binis.codegen.projection.exception.ProjectionCreationException;
+import net.binis.codegen.projection.provider.CodeGenProjectionProvider;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Build time generator of projection classes. Writes the same classes {@link CodeGenProjectionProvider} would create
+ * at runtime into an output directory (usually {@code target/classes}), where the provider picks them up instead of
+ * generating them on first use.
+ * <p>
+ * Projections are declared as {@code <target>=<projection>[,<projection>...]} lines, either passed as arguments or
+ * listed in {@value #DECLARATIONS} resources. Nested classes use their binary names ({@code com.example.Outer$Inner}).
+ */
+@Slf4j
+public class ProjectionClassGenerator {
+
+    public static final String DECLARATIONS = "META-INF/binis/projections";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: ProjectionClassGenerator <output dir> [<target>=<projection>[,<projection>...]]...");
+        }
+
+        var loader = Thread.currentThread().getContextClassLoader();
+        var declarations = args.length > 1 ? parse(Arrays.asList(args).subList(1, args.length), loader) : readDeclarations(loader);
+        var generated = generate(Path.of(args[0]), declarations);
+        log.info("Generated {} projection classes in {}", generated.size(), args[0]);
+    }
+
+    public static List<String> generate(Path output, Collection<Pair<Class<?>, Class<?>[]>> declarations) throws IOException {
+        var provider = new CodeGenProjectionProvider();
+        var result = new ArrayList<String>();
+        for (var declaration : declarations) {
+            var type = provider.makeProjectionClass(declaration.getKey(), declaration.getValue());
+            type.saveIn(output.toFile());
+            result.add(type.getTypeDescription().getName());
+        }
+        return result;
+    }
+
+    public static List<Pair<Class<?>, Class<?>[]>> readDeclarations(ClassLoader loader) throws IOException {
+        var lines = new ArrayList<String>();
+        var resources = loader.getResources(DECLARATIONS);
+        while (resources.hasMoreElements()) {
+            try (var reader = new BufferedReader(new InputStreamReader(resources.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                reader.lines().forEach(lines::add);
+            }
+        }
+        return parse(lines, loader);
+    }
+
+    public static List<Pair<Class<?>, Class<?>[]>> parse(Collection<String> lines, ClassLoader loader) {
+        var result = new ArrayList<Pair<Class<?>, Class<?>[]>>();
+        for (var l : lines) {
+            var line = l.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            var idx = line.indexOf('=');
+            if (idx < 1) {
+                throw new ProjectionCreationException("Invalid projection declaration: " + line);
+            }
+
+            var projections = Arrays.stream(line.substring(idx + 1).split(","))
+                    .map(String::strip)
+                    .filter(s -> !s.isEmpty())
+                    .map(s -> loadClass(s, loader))
+                    .toArray(Class<?>[]::new);
+            if (projections.length == 0) {
+                throw new ProjectionCreationException("No projections declared: " + line);
+            }
+            result.add(Pair.of(loadClass(line.substring(0, idx).strip(), loader), projections));
+        }
+        return result;
+    }
+
+    protected static Class<?> loadClass(String name, ClassLoader loader) {
+        try {
+            return Class.forName(name, false, loader);
+        } catch (ClassNotFoundException e) {
+            throw new ProjectionCreationException("Unable to load class: " + name, e);
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package net.binis.codegen.projection.tools;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.factory.ProjectionInstantiation;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Wraps a {@link ProjectionInstantiation} so the same source object always yields the same projection instance while
+ * that instance is in use (see {@link ProjectionSettings#isIdentityCache()}).
+ * <p>
+ * Sources are compared by identity and held weakly. Projections are held weakly as well, since every projection
+ * references its source, so neither of them is kept alive by the cache.
+ */
+public class ProjectionIdentityCache implements ProjectionInstantiation {
+
+    private final ProjectionInstantiation instantiation;
+    private final Map<Key, WeakReference<Object>> instances = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    public ProjectionIdentityCache(ProjectionInstantiation instantiation) {
+        this.instantiation = instantiation;
+    }
+
+    @Override
+    public Object create(Object object) {
+        expunge();
+        var ref = instances.get(new Key(object, null));
+        var result = nonNull(ref) ? ref.get() : null;
+        if (isNull(result)) {
+            var created = new Object[1];
+            ref = instances.compute(new Key(object, queue), (k, v) -> {
+                if (nonNull(v) && nonNull(created[0] = v.get())) {
+                    return v;
+                }
+                created[0] = instantiation.create(object);
+                return new WeakReference<>(created[0]);
+            });
+            result = created[0];
+        }
+        return result;
+    }
+
+    public int size() {
+        expunge();
+        return instances.size();
+    }
+
+    private void expunge() {
+        for (var ref = queue.poll(); nonNull(ref); ref = queue.poll()) {
+            instances.remove(ref);
+        }
+    }
+
+    private static final class Key extends WeakReference<Object> {
+
+        private final int hash;
+
+        Key(Object referent, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o instanceof Key key && key.hash == hash) {
+                var referent = get();
+                return nonNull(referent) && referent == key.get();
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
@@ -0,0 +1,220 @@
+package net.binis.codegen.projection.tools;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import lombok.extern.slf4j.Slf4j;
+import net.binis.codegen.factory.CodeFactory;
+import net.binis.codegen.projection.objects.CodeProxyBase;
+import net.binis.codegen.projection.provider.CodeGenProjectionProvider;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Bootstrap of projection methods generated with {@link ProjectionSettings.Linkage#INVOKEDYNAMIC} linkage.
+ * <p>
+ * The generated method only passes the projection and its arguments. The accessor, the property path and the
+ * conversion of the result are resolved when the call site is first invoked, so methods that are never called are
+ * never analyzed. The linked method handles behave like the bytecode generated by {@link CodeGenProjectionProvider}.
+ */
+@Slf4j
+public final class ProjectionLinker {
+
+    public static final String BOOTSTRAP = "bootstrap";
+
+    private static final MethodHandle IS_NULL;
+    private static final MethodHandle CONVERT;
+    private static final MethodHandle PROJECTIONS;
+    private static final MethodHandle PROJECT;
+    private static final MethodHandle MAP_GET;
+    private static final MethodHandle NESTED;
+
+    static {
+        var lookup = MethodHandles.lookup();
+        try {
+            IS_NULL = lookup.findStatic(Objects.class, "isNull", MethodType.methodType(boolean.class, Object.class));
+            CONVERT = lookup.findVirtual(ConversionSite.class, ConversionSite.CONVERT, MethodType.methodType(Object.class, Object.class));
+            PROJECTIONS = lookup.findStatic(CodeFactory.class, "projections", MethodType.methodType(Object.class, Object.class, Class[].class));
+            PROJECT = lookup.findVirtual(NestedProjectionSite.class, NestedProjectionSite.PROJECT, MethodType.methodType(Object.class, Object.class));
+            MAP_GET = lookup.findVirtual(Map.class, "get", MethodType.methodType(Object.class, Object.class));
+            NESTED = lookup.findStatic(CodeProxyBase.class, "nested", MethodType.methodType(Object.class, Object.class, Object.class, NestedProjectionSite.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final MethodHandles.Lookup lookup;
+    private final Class<?> cls;
+    private final Method mtd;
+    private final Class<?>[] types;
+    private final boolean memoize;
+    private NestedProjectionSite site;
+
+    private ProjectionLinker(MethodHandles.Lookup lookup, Class<?> cls, Method mtd, Class<?>[] types) {
+        this.lookup = lookup;
+        this.cls = cls;
+        this.mtd = mtd;
+        this.types = types;
+        this.memoize = types.length == 0 && mtd.getReturnType().isInterface();
+    }
+
+    /**
+     * Links the projection method {@code name} declared by {@code projection}. The first parameter of {@code type} is
+     * the projection itself, the rest are the parameters of the projection method.
+     */
+    public static CallSite bootstrap(MethodHandles.Lookup lookup, String name, MethodType type, Class<?> projection) throws ReflectiveOperationException {
+        var proxy = lookup.lookupClass();
+        var types = type.dropParameterTypes(0, 1).parameterArray();
+        var cls = proxy.getDeclaredField(CodeGenProjectionProvider.TARGET_FIELD_NAME).getType();
+        var linker = new ProjectionLinker(lookup, cls, projection.getMethod(name, types), types);
+        var handle = MethodHandles.filterArguments(linker.link(), 0, lookup.findGetter(proxy, CodeGenProjectionProvider.TARGET_FIELD_NAME, cls));
+        if (linker.memoize && nonNull(linker.site)) {
+            handle = linker.memoize(proxy, handle);
+        }
+        return new ConstantCallSite(handle.asType(type));
+    }
+
+    private MethodHandle link() throws ReflectiveOperationException {
+        var index = PropertyIndex.of(cls);
+        var name = mtd.getName();
+        var m = index.findMethod(name, types);
+        if (nonNull(m)) {
+            return declared(lookup.findVirtual(cls, name, MethodType.methodType(m.getReturnType(), types)), m);
+        }
+
+        var path = index.findPath(name, types);
+        if (isNull(path) && name.startsWith("is")) {
+            path = index.findPath(name.replaceFirst("is", "get"), types);
+        }
+        if (nonNull(path)) {
+            return path(path);
+        }
+
+        log.info("Handle undeclared method: {}", mtd);
+        return MethodHandles.empty(MethodType.methodType(mtd.getReturnType(), cls).appendParameterTypes(types));
+    }
+
+    /**
+     * Keeps the nested projection in the memo field of the projection class, same as the generated bytecode (see
+     * {@link CodeProxyBase#nested(Object, Object, NestedProjectionSite)}).
+     */
+    private MethodHandle memoize(Class<?> proxy, MethodHandle value) throws ReflectiveOperationException {
+        var field = CodeGenProjectionProvider.NESTED_FIELD_PREFIX + mtd.getName();
+        var nested = MethodHandles.insertArguments(NESTED, 2, site);
+        var project = MethodHandles.filterArguments(nested, 0, lookup.findGetter(proxy, field, Object.class), value.asType(MethodType.methodType(Object.class, proxy)));
+        var store = MethodHandles.foldArguments(MethodHandles.dropArguments(MethodHandles.identity(Object.class), 0, proxy), lookup.findSetter(proxy, field, Object.class));
+        var result = MethodHandles.filterArguments(store, 1, MethodHandles.permuteArguments(project, MethodType.methodType(Object.class, proxy), 0, 0));
+        return MethodHandles.permuteArguments(result, MethodType.methodType(Object.class, proxy), 0, 0);
+    }
+
+    private MethodHandle declared(MethodHandle handle, Method m) {
+        var ret = mtd.getReturnType();
+        if (CodeFactory.isCustomProxyClass(ret) && mtd.getGenericReturnType() instanceof ParameterizedType mtdType && m.getGenericReturnType() instanceof ParameterizedType mType) {
+            var generics = mtdType.getActualTypeArguments();
+            if (needProjection(generics, mType.getActualTypeArguments())) {
+                var classes = new Class<?>[generics.length];
+                for (var i = 0; i < generics.length; i++) {
+                    classes[i] = (Class<?>) generics[i];
+                }
+                return MethodHandles.filterReturnValue(handle.asType(handle.type().changeReturnType(Object.class)), MethodHandles.insertArguments(PROJECTIONS, 1, (Object) classes));
+            }
+        }
+
+        if (ret.isInterface() && !ret.equals(m.getReturnType())) {
+            return project(handle, ret);
+        }
+        if (ret.isAssignableFrom(m.getReturnType())) {
+            return handle;
+        }
+        return convert(handle, ret);
+    }
+
+    private MethodHandle path(List<Object> path) throws ReflectiveOperationException {
+        var ret = mtd.getReturnType();
+        var owner = cls;
+        MethodHandle chain = null;
+        for (var i = 0; i < path.size() - 1; i++) {
+            var m = (Method) path.get(i);
+            var getter = lookup.findVirtual(owner, m.getName(), MethodType.methodType(m.getReturnType()));
+            chain = isNull(chain) ? getter : MethodHandles.filterReturnValue(chain, nullSafe(getter));
+            owner = m.getReturnType();
+        }
+
+        MethodHandle last;
+        if (path.get(path.size() - 1) instanceof Method m) {
+            last = lookup.findVirtual(owner, m.getName(), MethodType.methodType(m.getReturnType(), types));
+            if (ret.isInterface() && !ret.equals(m.getReturnType())) {
+                last = project(last, ret);
+            } else if (!ret.equals(m.getReturnType())) {
+                last = convert(last, ret);
+            }
+        } else {
+            last = MethodHandles.dropArguments(MethodHandles.insertArguments(MAP_GET, 1, path.get(path.size() - 1)), 1, types);
+            last = ret.isInterface() ? project(last, ret) : convert(last, ret);
+        }
+        last = nullSafe(last.asType(MethodType.methodType(memoize && nonNull(site) ? Object.class : ret, owner).appendParameterTypes(types)));
+
+        return isNull(chain) ? last : MethodHandles.filterArguments(last, 0, chain);
+    }
+
+    /**
+     * Projects the result through a {@link NestedProjectionSite}. Memoized methods leave it to
+     * {@link #memoize(Class, MethodHandle)}.
+     */
+    private MethodHandle project(MethodHandle handle, Class<?> ret) {
+        site = new NestedProjectionSite(ret);
+        var value = handle.asType(handle.type().changeReturnType(Object.class));
+        return memoize ? value : MethodHandles.filterReturnValue(value, PROJECT.bindTo(site));
+    }
+
+    private static MethodHandle convert(MethodHandle handle, Class<?> ret) {
+        return MethodHandles.filterReturnValue(handle.asType(handle.type().changeReturnType(Object.class)), CONVERT.bindTo(new ConversionSite(ret)));
+    }
+
+    /**
+     * Returns the default value of the handle type when its first argument is {@code null}.
+     */
+    private static MethodHandle nullSafe(MethodHandle handle) {
+        var type = handle.type();
+        var test = MethodHandles.dropArguments(IS_NULL.asType(MethodType.methodType(boolean.class, type.parameterType(0))), 1, type.dropParameterTypes(0, 1).parameterList());
+        return MethodHandles.guardWithTest(test, MethodHandles.empty(type), handle);
+    }
+
+    private static boolean needProjection(java.lang.reflect.Type[] generics, java.lang.reflect.Type[] original) {
+        if (generics.length == original.length) {
+            for (var i = 0; i < generics.length; i++) {
+                if (generics[i] instanceof Class<?> g && original[i] instanceof Class && g.isInterface() && !g.equals(original[i])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+}
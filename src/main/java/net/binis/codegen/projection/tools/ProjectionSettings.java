@@ -0,0 +1,218 @@
+package net.binis.codegen.projection.tools;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Runtime switches of the projection providers. Every setting is initialized from a system property and can be
+ * changed programmatically before the first projection is created.
+ */
+public final class ProjectionSettings {
+
+    public static final String PREGENERATED = "binis.projection.pregenerated";
+    public static final String CACHE_DIRECTORY = "binis.projection.cache";
+    public static final String LOADING = "binis.projection.loading";
+    public static final String MAX_CLASSES = "binis.projection.classes.max";
+    public static final String COMPUTE_FRAMES = "binis.projection.frames.compute";
+    public static final String BACKEND = "binis.projection.backend";
+    public static final String IDENTITY_CACHE = "binis.projection.identity";
+    public static final String LINKAGE = "binis.projection.linkage";
+    public static final String PARALLEL_THRESHOLD = "binis.projection.parallel.threshold";
+    public static final String CONVERSION_STATISTICS = "binis.projection.conversion.statistics";
+    public static final String DIRTY_TRACKING = "binis.projection.dirty.tracking";
+    public static final String MAP_HASH_CACHE = "binis.projection.map.hash.cache";
+
+    private static volatile boolean pregenerated = Boolean.parseBoolean(System.getProperty(PREGENERATED, "true"));
+    private static volatile Path cacheDirectory = Optional.ofNullable(System.getProperty(CACHE_DIRECTORY)).map(Path::of).orElse(null);
+    private static volatile Loading loading = Loading.valueOf(System.getProperty(LOADING, Loading.WRAPPER.name()).toUpperCase());
+    private static volatile int maxClasses = Integer.getInteger(MAX_CLASSES, 0);
+    private static volatile boolean computeFrames = Boolean.getBoolean(COMPUTE_FRAMES);
+    private static volatile Backend backend = Backend.valueOf(System.getProperty(BACKEND, Backend.BYTE_BUDDY.name()).toUpperCase());
+    private static volatile boolean identityCache = Boolean.getBoolean(IDENTITY_CACHE);
+    private static volatile Linkage linkage = Linkage.valueOf(System.getProperty(LINKAGE, Linkage.BYTECODE.name()).toUpperCase());
+    private static volatile int parallelThreshold = Integer.getInteger(PARALLEL_THRESHOLD, 10_000);
+    private static volatile boolean conversionStatistics = Boolean.getBoolean(CONVERSION_STATISTICS);
+    private static volatile boolean dirtyTracking = Boolean.getBoolean(DIRTY_TRACKING);
+    private static volatile boolean mapHashCache = Boolean.getBoolean(MAP_HASH_CACHE);
+
+    private ProjectionSettings() {
+        //Do nothing
+    }
+
+    /**
+     * Whether projection classes generated at build time (see {@link ProjectionClassGenerator}) are looked up before
+     * falling back to runtime generation.
+     */
+    public static boolean isPregenerated() {
+        return pregenerated;
+    }
+
+    public static void setPregenerated(boolean pregenerated) {
+        ProjectionSettings.pregenerated = pregenerated;
+    }
+
+    /**
+     * Directory of the persistent bytecode cache (see {@link ProjectionBytecodeCache}), {@code null} when disabled.
+     */
+    public static Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    public static void setCacheDirectory(Path cacheDirectory) {
+        ProjectionSettings.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * How generated classes are defined (see {@link ProjectionClassDefiner}).
+     */
+    public static Loading getLoading() {
+        return loading;
+    }
+
+    public static void setLoading(Loading loading) {
+        ProjectionSettings.loading = loading;
+    }
+
+    /**
+     * Maximum number of generated classes kept by every {@link ProjectionClassCache}, 0 for no limit. Classes are
+     * evicted by a CLOCK sweep, which approximates least recently used order: classes used since the last sweep get a
+     * second chance.
+     */
+    public static int getMaxClasses() {
+        return maxClasses;
+    }
+
+    public static void setMaxClasses(int maxClasses) {
+        ProjectionSettings.maxClasses = maxClasses;
+    }
+
+    /**
+     * Whether ASM computes stack map frames and operand stack sizes of generated projection classes, instead of using
+     * the ones emitted by the generator. Slower, kept as a fallback.
+     */
+    public static boolean isComputeFrames() {
+        return computeFrames;
+    }
+
+    public static void setComputeFrames(boolean computeFrames) {
+        ProjectionSettings.computeFrames = computeFrames;
+    }
+
+    /**
+     * How projection classes are assembled (see {@link ProjectionClassBuilder}).
+     */
+    public static Backend getBackend() {
+        return backend;
+    }
+
+    public static void setBackend(Backend backend) {
+        ProjectionSettings.backend = backend;
+    }
+
+    /**
+     * Whether projecting the same object again returns the same projection instance (see
+     * {@link ProjectionIdentityCache}). Applies to projection types created after the change.
+     */
+    public static boolean isIdentityCache() {
+        return identityCache;
+    }
+
+    public static void setIdentityCache(boolean identityCache) {
+        ProjectionSettings.identityCache = identityCache;
+    }
+
+    /**
+     * How projection methods reach the projected object (see {@link ProjectionLinker}).
+     */
+    public static Linkage getLinkage() {
+        return linkage;
+    }
+
+    public static void setLinkage(Linkage linkage) {
+        ProjectionSettings.linkage = linkage;
+    }
+
+    /**
+     * Number of elements above which bulk projections are split across the fork join pool, 0 to always project
+     * sequentially.
+     */
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public static void setParallelThreshold(int parallelThreshold) {
+        ProjectionSettings.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Whether {@link ConversionSite} counts its hits and misses. Applies to conversion sites linked after the change.
+     */
+    public static boolean isConversionStatistics() {
+        return conversionStatistics;
+    }
+
+    public static void setConversionStatistics(boolean conversionStatistics) {
+        ProjectionSettings.conversionStatistics = conversionStatistics;
+    }
+
+    /**
+     * Whether setters of generated projections record the changed properties (see {@link DirtyTracking}). Applies to
+     * projection classes generated after the change.
+     */
+    public static boolean isDirtyTracking() {
+        return dirtyTracking;
+    }
+
+    public static void setDirtyTracking(boolean dirtyTracking) {
+        ProjectionSettings.dirtyTracking = dirtyTracking;
+    }
+
+    /**
+     * Whether map-backed projections of JDK immutable maps cache their hash code (see {@link net.binis.codegen.projection.objects.CodeMapProxyBase}). Only
+     * enable it when the values held by those maps are never mutated, since an immutable map can still hold a mutable
+     * value whose hash changes. Applies to projections created after the change.
+     */
+    public static boolean isMapHashCache() {
+        return mapHashCache;
+    }
+
+    public static void setMapHashCache(boolean mapHashCache) {
+        ProjectionSettings.mapHashCache = mapHashCache;
+    }
+
+    public enum Loading {
+        WRAPPER,
+        HIDDEN
+    }
+
+    public enum Backend {
+        BYTE_BUDDY,
+        ASM
+    }
+
+    public enum Linkage {
+        BYTECODE,
+        INVOKEDYNAMIC
+    }
+
+}
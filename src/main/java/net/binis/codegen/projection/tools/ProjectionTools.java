@@ -20,6 +20,15 @@ package net.binis.codegen.projection.tools;
  * #L%
  */
 
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
 public interface ProjectionTools {
 
     static String decapitalize(String str) {
@@ -27,4 +36,48 @@ public interface ProjectionTools {
         return Character.toLowerCase(str.charAt(0)) + str.substring(1);
     }
 
+    static List<Class<?>> findInterfaces(ClassLoader loader, String packageName) throws IOException {
+        var path = packageName.replace('.', '/');
+        var names = new TreeSet<String>();
+        var resources = loader.getResources(path);
+        while (resources.hasMoreElements()) {
+            var url = resources.nextElement();
+            if ("file".equals(url.getProtocol())) {
+                try (var files = Files.walk(Path.of(url.toURI()))) {
+                    var root = Path.of(url.toURI());
+                    files.map(f -> root.relativize(f).toString().replace('\\', '/'))
+                            .filter(f -> f.endsWith(".class"))
+                            .forEach(f -> names.add(path + "/" + f));
+                } catch (URISyntaxException e) {
+                    throw new IOException(e);
+                }
+            } else if ("jar".equals(url.getProtocol())) {
+                var connection = (JarURLConnection) url.openConnection();
+                connection.setUseCaches(false);
+                try (var jar = connection.getJarFile()) {
+                    jar.stream()
+                            .map(e -> e.getName())
+                            .filter(n -> n.startsWith(path + "/") && n.endsWith(".class"))
+                            .forEach(names::add);
+                }
+            }
+        }
+
+        var result = new ArrayList<Class<?>>();
+        for (var name : names) {
+            if (name.endsWith("-info.class")) {
+                continue;
+            }
+            try {
+                var cls = Class.forName(name.substring(0, name.length() - 6).replace('/', '.'), false, loader);
+                if (cls.isInterface() && !cls.isAnnotation()) {
+                    result.add(cls);
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                //Skip classes that can't be loaded
+            }
+        }
+        return result;
+    }
+
 }
@@ -0,0 +1,192 @@
+package net.binis.codegen.projection.tools;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static net.binis.codegen.projection.tools.ProjectionTools.decapitalize;
+
+/**
+ * Reflection data of a class, indexed once and shared by all projections of that class.
+ * <p>
+ * Methods are looked up by name and parameter types. Property paths (e.g. {@code getAddressCity()} resolving to
+ * {@code getAddress().getCity()}) are resolved against the indexes of the nested getter return types and memoized
+ * together with the classes they were resolved from, so {@link ProjectionBytecodeCache} still sees every dependency.
+ */
+public final class PropertyIndex {
+
+    private static final ClassValue<PropertyIndex> INDEXES = new ClassValue<>() {
+        @Override
+        protected PropertyIndex computeValue(Class<?> type) {
+            return new PropertyIndex(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final List<Class<?>> hierarchy = new ArrayList<>();
+    private final Map<Signature, Method> methods = new HashMap<>();
+    private final Map<String, List<Method>> declared = new HashMap<>();
+    private final Map<Signature, Resolution> paths = new ConcurrentHashMap<>();
+    private final int longest;
+
+    private PropertyIndex(Class<?> type) {
+        this.type = type;
+        var max = 0;
+        for (var m : type.getDeclaredMethods()) {
+            declared.computeIfAbsent(m.getName(), k -> new ArrayList<>()).add(m);
+            max = Math.max(max, m.getName().length());
+        }
+        longest = max;
+
+        for (var cls = type; nonNull(cls); cls = cls.getSuperclass()) {
+            hierarchy.add(cls);
+            var level = cls == type ? declared : INDEXES.get(cls).declared;
+            for (var list : level.values()) {
+                for (var m : list) {
+                    var signature = new Signature(m.getName(), m.getParameterTypes());
+                    var existing = methods.get(signature);
+                    if (isNull(existing)) {
+                        methods.put(signature, m);
+                    } else if (existing.getDeclaringClass().equals(m.getDeclaringClass()) && existing.getReturnType().isAssignableFrom(m.getReturnType())) {
+                        methods.put(signature, m);
+                    }
+                }
+            }
+        }
+    }
+
+    public static PropertyIndex of(Class<?> cls) {
+        return INDEXES.get(cls);
+    }
+
+    /**
+     * Returns the method declared by the class or one of its superclasses, {@code null} when there is none.
+     */
+    public Method findMethod(String name, Class<?>[] types) {
+        hierarchy.forEach(ProjectionBytecodeCache::dependsOn);
+        return methods.get(new Signature(name, types));
+    }
+
+    /**
+     * Resolves a property path starting at this class. The path lists the getters to call in order, optionally
+     * followed by a map key when the last getter returns a {@link Map}. Returns {@code null} when there is no path.
+     */
+    public List<Object> findPath(String name, Class<?>[] types) {
+        var dependencies = new LinkedHashSet<Class<?>>();
+        var result = resolve(name, types, dependencies);
+        dependencies.forEach(ProjectionBytecodeCache::dependsOn);
+        return result;
+    }
+
+    private List<Object> resolve(String name, Class<?>[] types, Set<Class<?>> dependencies) {
+        var key = new Signature(name, types);
+        var resolution = paths.get(key);
+        if (isNull(resolution)) {
+            var visited = new LinkedHashSet<Class<?>>();
+            var path = search(name, types, visited);
+            resolution = new Resolution(path, Set.copyOf(visited));
+            var existing = paths.putIfAbsent(key, resolution);
+            if (nonNull(existing)) {
+                resolution = existing;
+            }
+        }
+        dependencies.addAll(resolution.dependencies());
+        return resolution.path();
+    }
+
+    private List<Object> search(String name, Class<?>[] types, Set<Class<?>> visited) {
+        visited.add(type);
+        for (var length = Math.min(name.length(), longest); length > 0; length--) {
+            var candidates = declared.get(name.substring(0, length));
+            if (isNull(candidates)) {
+                continue;
+            }
+
+            var left = name.substring(length);
+            for (var m : candidates) {
+                var ret = m.getReturnType();
+                if (left.isEmpty()) {
+                    if (Arrays.equals(m.getParameterTypes(), types)) {
+                        return List.of(m);
+                    }
+                } else if (Map.class.isAssignableFrom(ret)) {
+                    if (Arrays.equals(m.getParameterTypes(), types)) {
+                        return List.of(m, decapitalize(left));
+                    }
+                } else if (m.getParameterCount() == 0 && !ret.isPrimitive() && Character.isUpperCase(left.charAt(0))) {
+                    var next = INDEXES.get(ret);
+                    for (var property : List.of(getterName(left), booleanGetterName(left), decapitalize(left))) {
+                        var path = next.resolve(property, types, visited);
+                        if (nonNull(path)) {
+                            var result = new ArrayList<>(path.size() + 1);
+                            result.add(m);
+                            result.addAll(path);
+                            return Collections.unmodifiableList(result);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (nonNull(type.getSuperclass())) {
+            var path = INDEXES.get(type.getSuperclass()).resolve(name, types, visited);
+            if (nonNull(path)) {
+                return path;
+            }
+        }
+        for (var i : type.getInterfaces()) {
+            var path = INDEXES.get(i).resolve(name, types, visited);
+            if (nonNull(path)) {
+                return path;
+            }
+        }
+        return null;
+    }
+
+    private static String getterName(String value) {
+        return "get" + Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private static String booleanGetterName(String value) {
+        return "is" + Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private record Resolution(List<Object> path, Set<Class<?>> dependencies) {
+    }
+
+    private record Signature(String name, Class<?>[] types) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Signature s && name.equals(s.name) && Arrays.equals(types, s.types);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + Arrays.hashCode(types);
+        }
+    }
+
+}
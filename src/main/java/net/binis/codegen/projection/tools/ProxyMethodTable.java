@@ -0,0 +1,68 @@
+package net.binis.codegen.projection.tools;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.projection.exception.ProjectionCreationException;
+import net.bytebuddy.jar.asm.Type;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * Method table of a generated proxy class, resolved by the static initializer of the class itself the same way
+ * {@link java.lang.reflect.Proxy} classes resolve theirs. Every method is described by a signature string, so the table
+ * survives the bytecode cache and hidden class loading, which leave no way to pass objects to the class from outside.
+ */
+public final class ProxyMethodTable {
+
+    public static final String RESOLVE = "resolve";
+    public static final String RESOLVE_DESC = "(Ljava/lang/Class;[Ljava/lang/String;)[Ljava/lang/reflect/Method;";
+
+    private ProxyMethodTable() {
+        //Do nothing
+    }
+
+    /**
+     * Describes the method as its declaring class, name and descriptor.
+     */
+    public static String signature(Method method) {
+        return method.getDeclaringClass().getName() + ' ' + method.getName() + ' ' + Type.getMethodDescriptor(method);
+    }
+
+    /**
+     * Resolves the methods from their signatures through the class loader of the proxy class.
+     */
+    public static Method[] resolve(Class<?> proxy, String[] signatures) {
+        var loader = proxy.getClassLoader();
+        var result = new Method[signatures.length];
+        for (var i = 0; i < signatures.length; i++) {
+            var parts = signatures[i].split(" ", 3);
+            try {
+                var declaring = Class.forName(parts[0], false, loader);
+                result[i] = declaring.getDeclaredMethod(parts[1], MethodType.fromMethodDescriptorString(parts[2], loader).parameterArray());
+            } catch (ReflectiveOperationException | TypeNotPresentException e) {
+                throw new ProjectionCreationException("Unable to resolve proxy method: " + signatures[i], e);
+            }
+        }
+        return result;
+    }
+
+}
@@ -24,11 +24,23 @@ package net.binis.codegen.projection;
 import lombok.extern.slf4j.Slf4j;
 import net.binis.codegen.factory.CodeFactory;
 import net.binis.codegen.projection.provider.MapBackedProjectionProvider;
+import net.binis.codegen.projection.interfaces.CodeProxyControl;
+import net.binis.codegen.projection.tools.ConversionSite;
+import net.binis.codegen.projection.tools.DirtyTracking;
+import net.binis.codegen.projection.tools.ProjectionSettings;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
 import org.junit.jupiter.api.Test;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 @Slf4j
 class MapBackedProjectionTest {
@@ -48,6 +60,183 @@ class MapBackedProjectionTest {
         float getFloat();
     }
 
+    public interface Editable {
+        void setInt(int value);
+        boolean isActive();
+        List<Integer> getValues();
+        void clear();
+    }
+
+    public interface Tracked {
+        String getName();
+        void setName(String name);
+        int getCount();
+        void setCount(int count);
+    }
+
+    public interface Counted {
+        int getCount();
+    }
+
+    @Test
+    void testAccessors() {
+        var source = new HashMap<String, Object>();
+        source.put("values", List.of("1", "2"));
+        Object proxy = MapBackedProjectionProvider.create(source, (Class[]) new Class<?>[]{Projection.class, Editable.class});
+        var p = (Projection) proxy;
+        var editable = (Editable) proxy;
+
+        assertFalse(editable.isActive());
+        editable.setInt(3);
+        assertEquals(3, source.get("int"));
+        assertEquals(3, p.getInt());
+        source.put("active", true);
+        assertTrue(editable.isActive());
+        assertEquals(List.of(1, 2), editable.getValues());
+        assertSame(editable.getValues(), editable.getValues());
+        source.put("values", List.of("3"));
+        assertEquals(List.of(3), editable.getValues());
+        assertThrows(UnsupportedOperationException.class, editable::clear);
+        assertFalse(MapBackedProjectionProvider.create(source, Projection.class) instanceof Editable);
+    }
+
+    @Test
+    void testListChangedInPlace() {
+        var values = new ArrayList<>(List.of("1", "2"));
+        var editable = MapBackedProjectionProvider.create(Map.of("values", values), Editable.class);
+        assertEquals(List.of(1, 2), editable.getValues());
+
+        values.set(0, "5");
+        values.add("3");
+        assertEquals(List.of(5, 2, 3), editable.getValues());
+        values.remove(0);
+        assertEquals(List.of(2, 3), editable.getValues());
+    }
+
+    @Test
+    void testConversionSites() {
+        var source = new HashMap<String, Object>();
+        source.put("count", "5");
+        var p = MapBackedProjectionProvider.create(source, Counted.class);
+        var before = ConversionSite.getStatistics();
+
+        ProjectionSettings.setConversionStatistics(true);
+        try {
+            assertEquals(5, p.getCount());
+            assertEquals(5, p.getCount());
+            source.put("count", 6L);
+            assertEquals(6, p.getCount());
+        } finally {
+            ProjectionSettings.setConversionStatistics(false);
+        }
+        var after = ConversionSite.getStatistics();
+        assertEquals(before.hits() + 1, after.hits());
+        assertEquals(before.misses() + 2, after.misses());
+
+        var site = new ConversionSite(String.class);
+        var value = "7";
+        assertSame(value, site.convert(value));
+        assertSame(value, site.convert(value));
+        assertEquals("8", site.convert(8));
+    }
+
+    @Test
+    void testDirtyTracking() {
+        var untracked = MapBackedProjectionProvider.create(new HashMap<>(), Tracked.class);
+        var rows = List.<Map<String, Object>>of(new HashMap<>(), new HashMap<>(), new HashMap<>());
+        List<Tracked> projections;
+        ProjectionSettings.setDirtyTracking(true);
+        try {
+            projections = rows.stream().map(row -> MapBackedProjectionProvider.create(row, Tracked.class)).toList();
+        } finally {
+            ProjectionSettings.setDirtyTracking(false);
+        }
+        assertFalse(untracked instanceof CodeProxyControl);
+        assertNotSame(untracked.getClass(), projections.get(0).getClass());
+
+        projections.get(0).setName("a");
+        projections.get(1).setCount(1);
+        projections.get(2).setName("c");
+        assertEquals(Map.of("count", 1), ((CodeProxyControl) projections.get(1))._changes$());
+        projections.get(1).setName("b");
+        assertEquals(Set.of("name", "count"), ((CodeProxyControl) projections.get(1))._dirty$());
+
+        var batches = new LinkedHashMap<Set<String>, List<Object>>();
+        DirtyTracking.flush(projections, batches::put);
+        assertEquals(Map.of(Set.of("name"), List.of(rows.get(0), rows.get(2)), Set.of("name", "count"), List.of(rows.get(1))), batches);
+        assertTrue(((CodeProxyControl) projections.get(1))._dirty$().isEmpty());
+        assertEquals("b", projections.get(1).getName());
+    }
+
+    @Test
+    void testDirtyTrackingManyProperties() throws Exception {
+        var builder = new ByteBuddy().makeInterface().name(getClass().getName() + "$Wide");
+        for (var i = 0; i < 130; i++) {
+            builder = builder.defineMethod("setP" + i, void.class, Visibility.PUBLIC).withParameters(String.class).withoutCode();
+        }
+        var wide = builder.make().load(getClass().getClassLoader()).getLoaded();
+
+        Object projection;
+        ProjectionSettings.setDirtyTracking(true);
+        try {
+            projection = MapBackedProjectionProvider.create(new HashMap<>(), (Class) wide);
+        } finally {
+            ProjectionSettings.setDirtyTracking(false);
+        }
+        var control = (CodeProxyControl) projection;
+        for (var i : new int[]{63, 64, 129}) {
+            wide.getMethod("setP" + i, String.class).invoke(projection, "value");
+            assertEquals(Set.of("p" + i), control._dirty$());
+            control._clean$();
+        }
+        wide.getMethod("setP0", String.class).invoke(projection, "value");
+        wide.getMethod("setP127", String.class).invoke(projection, "value");
+        assertEquals(Set.of("p0", "p127"), control._dirty$());
+    }
+
+    @Test
+    void testCompact() {
+        var source = new HashMap<>(map);
+        source.put("values", List.of("1", "2"));
+        Object compact = MapBackedProjectionProvider.compact(source, (Class[]) new Class<?>[]{Projection.class, Editable.class});
+        var p = (Projection) compact;
+        var editable = (Editable) compact;
+        source.clear();
+
+        assertEquals(5, p.getInt());
+        assertEquals("6.0", p.getString());
+        assertEquals(7.0, p.getDouble());
+        assertEquals(8L, p.getLong());
+        assertEquals(0.0, p.getFloat());
+        assertFalse(editable.isActive());
+        assertEquals(List.of(1, 2), editable.getValues());
+        editable.setInt(3);
+        assertEquals(3, p.getInt());
+        assertThrows(UnsupportedOperationException.class, editable::clear);
+    }
+
+    @Test
+    void testCompactReleasesMap() throws Exception {
+        var projections = new ArrayList<Object>();
+        var compacted = project(projections, true);
+        var mapBacked = project(projections, false);
+
+        for (var i = 0; i < 20 && compacted.get() != null; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+
+        assertNull(compacted.get());
+        assertNotNull(mapBacked.get());
+        assertEquals(2, projections.size());
+    }
+
+    private WeakReference<Map<String, Object>> project(List<Object> projections, boolean compact) {
+        var source = new HashMap<>(map);
+        projections.add(compact ? MapBackedProjectionProvider.compact(source, Projection.class) : MapBackedProjectionProvider.create(source, Projection.class));
+        return new WeakReference<>(source);
+    }
+
     @Test
     void test() {
         var p = MapBackedProjectionProvider.create(map, Projection.class);
@@ -70,5 +259,36 @@ class MapBackedProjectionTest {
         assertEquals(0.0, p.getFloat());
     }
 
+    @Test
+    void testEquality() {
+        var p = MapBackedProjectionProvider.create(map, Projection.class);
+        var other = MapBackedProjectionProvider.create(new HashMap<>(map), Projection.class);
+
+        assertEquals(p, other);
+        assertEquals(map.hashCode(), p.hashCode());
+        assertEquals(p.hashCode(), other.hashCode());
+        assertEquals(map.toString(), p.toString());
+        assertNotEquals(p, map);
+    }
+
+    @Test
+    void testHashCache() {
+        var values = new ArrayList<>(List.of(1));
+        var mutable = MapBackedProjectionProvider.create(Map.of("int", values), Projection.class);
+        var hash = mutable.hashCode();
+        values.add(2);
+        assertNotEquals(hash, mutable.hashCode());
+
+        var previous = ProjectionSettings.isMapHashCache();
+        ProjectionSettings.setMapHashCache(true);
+        try {
+            var cached = MapBackedProjectionProvider.create(Map.of("int", values), Projection.class);
+            hash = cached.hashCode();
+            values.add(3);
+            assertEquals(hash, cached.hashCode());
+        } finally {
+            ProjectionSettings.setMapHashCache(previous);
+        }
+    }
 
 }
@@ -0,0 +1,114 @@
+package net.binis.codegen.projection;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.sun.management.ThreadMXBean;
+import net.binis.codegen.factory.CodeFactory;
+import net.binis.codegen.projection.provider.CodeGenProjectionProvider;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the allocation free code paths stay allocation free. The bounds are loose, they only allow for a fixed
+ * overhead per call and fail when something is allocated per element.
+ */
+class ProjectionAllocationTest {
+
+    private static final int INSTANCES = 100_000;
+
+    @Test
+    void testFlyweightAllocation() {
+        var provider = new CodeGenProjectionProvider();
+        var entities = new ArrayList<IndexedEntity>();
+        for (var i = 0; i < INSTANCES; i++) {
+            entities.add(new IndexedEntity(i));
+        }
+        var sum = new long[1];
+        Consumer<IndexedView> reader = v -> sum[0] += v.getIndex();
+
+        var allocated = allocated(() -> provider.forEachProjected(entities, IndexedView.class, reader));
+        assertEquals((long) INSTANCES * (INSTANCES - 1), sum[0]);
+        assertTrue(allocated < INSTANCES, () -> "Allocated " + allocated + " bytes for " + INSTANCES + " elements");
+    }
+
+    @Test
+    void testNestedProjectionAllocation() {
+        var entity = new NestedEntity();
+        var view = CodeFactory.projection(entity, NestedView.class);
+        var child = view.getChild();
+        assertSame(child, view.getChild());
+
+        var sum = new long[1];
+        var allocated = allocated(() -> {
+            for (var i = 0; i < INSTANCES; i++) {
+                sum[0] += view.getChild().getIndex();
+            }
+        });
+        assertEquals(2L * INSTANCES, sum[0]);
+        assertTrue(allocated < INSTANCES, () -> "Allocated " + allocated + " bytes for " + INSTANCES + " calls");
+
+        entity.child = new IndexedEntity(2);
+        assertNotSame(child, view.getChild());
+        assertEquals(2, view.getChild().getIndex());
+    }
+
+    private static long allocated(Runnable task) {
+        task.run();
+        var threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var before = threads.getCurrentThreadAllocatedBytes();
+        task.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    public interface IndexedView {
+        int getIndex();
+    }
+
+    public interface NestedView {
+        IndexedView getChild();
+    }
+
+    public static class IndexedEntity {
+        private final int index;
+
+        public IndexedEntity(int index) {
+            this.index = index;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+    }
+
+    public static class NestedEntity {
+        private IndexedEntity child = new IndexedEntity(1);
+
+        public IndexedEntity getChild() {
+            return child;
+        }
+    }
+
+}
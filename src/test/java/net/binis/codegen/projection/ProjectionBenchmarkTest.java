@@ -0,0 +1,377 @@
+package net.binis.codegen.projection;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import lombok.extern.slf4j.Slf4j;
+import net.binis.codegen.factory.CodeFactory;
+import net.binis.codegen.objects.Pair;
+import net.binis.codegen.projection.exception.ProjectionCreationException;
+import net.binis.codegen.projection.objects.CodeMapProxyBase;
+import net.binis.codegen.projection.provider.CodeGenProjectionProvider;
+import net.binis.codegen.projection.provider.MapBackedProjectionProvider;
+import net.binis.codegen.projection.tools.ProjectionBytecodeCache;
+import net.binis.codegen.projection.tools.ProjectionClassDefiner;
+import net.binis.codegen.projection.tools.ProjectionClassGenerator;
+import net.binis.codegen.projection.tools.ProjectionSettings;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.matcher.ElementMatchers;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rough timings of the alternative code paths. Numbers are logged, assertions only check the results. Tagged as
+ * {@code benchmark}, so it only runs when asked for; the JMH benchmarks live in {@code src/jmh/java}.
+ */
+@Slf4j
+@Tag("benchmark")
+class ProjectionBenchmarkTest {
+
+    private static final int ITERATIONS = 50;
+    private static final int INSTANCES = 100_000;
+
+    @Test
+    void benchmarkPregeneratedStartup() throws Exception {
+        var provider = new BenchmarkProvider();
+        var projections = new Class<?>[]{BenchmarkView.class};
+        var output = Files.createTempDirectory("projections");
+        ProjectionClassGenerator.generate(output, List.of(Pair.of(BenchmarkEntity.class, projections)));
+
+        var generated = measure(() -> provider.makeProjectionClass(BenchmarkEntity.class, projections).load(getClass().getClassLoader()).getLoaded());
+        var pregenerated = measure(() -> {
+            try (var loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+                return provider.pregenerated(loader, BenchmarkEntity.class, projections);
+            }
+        });
+        log.info("Projection class startup - generated: {}us, pregenerated: {}us", generated, pregenerated);
+    }
+
+    @Test
+    void benchmarkBytecodeCache() throws Exception {
+        var provider = new BenchmarkProvider();
+        var projections = new Class<?>[]{BenchmarkView.class};
+        var name = CodeGenProjectionProvider.getProjectionClassName(BenchmarkEntity.class, projections);
+        var loader = getClass().getClassLoader();
+        ProjectionSettings.setCacheDirectory(Files.createTempDirectory("bytecode"));
+        try {
+            assertNull(ProjectionBytecodeCache.read(loader, name));
+            var generated = measure(() -> ProjectionBytecodeCache.generate(loader, name, () -> provider.makeProjectionClass(BenchmarkEntity.class, projections)).load(loader).getLoaded());
+            assertNotNull(ProjectionBytecodeCache.read(loader, name));
+            var cached = measure(() -> ProjectionClassDefiner.define(null, loader, name, () -> fail("Cached class expected")));
+            log.info("Projection class startup - generated: {}us, cached: {}us", generated, cached);
+
+            var cls = ProjectionClassDefiner.define(null, loader, name, () -> fail("Cached class expected"));
+            var view = (BenchmarkView) cls.getDeclaredConstructor(BenchmarkEntity.class).newInstance(new BenchmarkEntity());
+            assertEquals("name", view.getChildName());
+        } finally {
+            ProjectionSettings.setCacheDirectory(null);
+        }
+    }
+
+    @Test
+    void benchmarkHiddenClassMetaspace() throws Exception {
+        var provider = new BenchmarkProvider();
+        var projections = new Class<?>[]{BenchmarkView.class};
+        var loader = getClass().getClassLoader();
+        var name = CodeGenProjectionProvider.getProjectionClassName(BenchmarkEntity.class, projections);
+        var wrapper = metaspace(() -> ProjectionClassDefiner.define(null, loader, provider.makeProjectionClass(BenchmarkEntity.class, projections)));
+
+        ProjectionSettings.setLoading(ProjectionSettings.Loading.HIDDEN);
+        try {
+            var lookup = ProjectionClassDefiner.lookup(BenchmarkEntity.class);
+            assertNotNull(lookup);
+            var hiddenName = CodeGenProjectionProvider.getProjectionClassName(lookup.lookupClass().getPackageName(), BenchmarkEntity.class, projections);
+            var hidden = metaspace(() -> ProjectionClassDefiner.define(lookup, loader, provider.makeProjectionClass(BenchmarkEntity.class, projections, hiddenName)));
+            log.info("Metaspace per projection class - wrapper: {} bytes, hidden: {} bytes", wrapper, hidden);
+
+            var cls = ProjectionClassDefiner.define(lookup, loader, provider.makeProjectionClass(BenchmarkEntity.class, projections, hiddenName));
+            assertTrue(cls.isHidden());
+            assertSame(loader, cls.getClassLoader());
+            var view = (BenchmarkView) cls.getDeclaredConstructor(BenchmarkEntity.class).newInstance(new BenchmarkEntity());
+            assertEquals("name", view.getChildName());
+            assertNotEquals(name, cls.getName());
+        } finally {
+            ProjectionSettings.setLoading(ProjectionSettings.Loading.WRAPPER);
+        }
+    }
+
+    @Test
+    void benchmarkInterfaceProxies() throws Exception {
+        InvocationHandler handler = (proxy, method, args) -> "getValue".equals(method.getName()) ? 5 : "name";
+        var generated = (BenchmarkView) new BenchmarkProvider().proxy(BenchmarkView.class, handler);
+        var reflective = (BenchmarkView) Proxy.newProxyInstance(BenchmarkView.class.getClassLoader(), new Class<?>[]{BenchmarkView.class}, handler);
+        for (var i = 0; i < ITERATIONS; i++) {
+            assertEquals(readView(reflective), readView(generated));
+        }
+
+        var generatedCalls = measure(() -> readView(generated));
+        var reflectiveCalls = measure(() -> readView(reflective));
+        log.info("{} proxy calls - generated: {}us, java.lang.reflect.Proxy: {}us", 3 * INSTANCES, generatedCalls, reflectiveCalls);
+    }
+
+    @Test
+    void benchmarkMapListGetter() throws Exception {
+        var values = new ArrayList<String>();
+        for (var i = 0; i < 500; i++) {
+            values.add(String.valueOf(i));
+        }
+        var map = Map.<String, Object>of("values", values);
+        var generated = MapBackedProjectionProvider.create(map, MapListView.class);
+        var intercepted = (MapListView) new ByteBuddy()
+                .subclass(CodeMapProxyBase.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                .implement(MapListView.class)
+                .defineConstructor(Visibility.PUBLIC)
+                .withParameters(Map.class)
+                .intercept(MethodCall.invoke(CodeMapProxyBase.class.getDeclaredConstructor(Map.class)).withArgument(0))
+                .method(ElementMatchers.isAbstract())
+                .intercept(MethodDelegation.to(MapBackedProjectionProvider.MapInterceptor.class))
+                .make()
+                .load(getClass().getClassLoader())
+                .getLoaded()
+                .getConstructor(Map.class)
+                .newInstance(map);
+        assertEquals(readList(intercepted), readList(generated));
+
+        var interceptedCalls = measure(() -> readList(intercepted));
+        var generatedCalls = measure(() -> readList(generated));
+        log.info("Indexed loop over a {} element list getter - generated: {}us, interceptor: {}us", values.size(), generatedCalls, interceptedCalls);
+    }
+
+    @Test
+    void benchmarkCompactFootprint() {
+        var compact = MapBackedProjectionProvider.compact(row(1), MapView.class);
+        assertEquals(readMap(MapBackedProjectionProvider.create(row(1), MapView.class)), readMap(compact));
+
+        var mapBacked = retained(i -> MapBackedProjectionProvider.create(row(i), MapView.class));
+        var compacted = retained(i -> MapBackedProjectionProvider.compact(row(i), MapView.class));
+        log.info("Retained per row - map-backed: {} bytes, compact: {} bytes", mapBacked, compacted);
+        assertTrue(compacted * 2 < mapBacked, () -> "Compact projections retain " + compacted + " bytes per row, map-backed " + mapBacked);
+    }
+
+    @Test
+    void benchmarkNestedProjectionSite() throws Exception {
+        var children = new IndexedEntity[INSTANCES];
+        for (var i = 0; i < INSTANCES; i++) {
+            children[i] = new IndexedEntity(i);
+        }
+        var entity = new NestedEntity();
+        var view = CodeFactory.projection(entity, NestedView.class);
+
+        var linked = measure(() -> {
+            var sum = 0L;
+            for (var child : children) {
+                entity.child = child;
+                sum += view.getChild().getIndex();
+            }
+            return sum;
+        });
+        var factory = measure(() -> {
+            var sum = 0L;
+            for (var child : children) {
+                sum += CodeFactory.projection(child, IndexedView.class).getIndex();
+            }
+            return sum;
+        });
+        log.info("{} nested projections - linked: {}us, factory: {}us", INSTANCES, linked, factory);
+
+        entity.child = new ShiftedEntity(3);
+        assertEquals(4, view.getChild().getIndex());
+    }
+
+    @Test
+    void benchmarkWarmUp() {
+        var provider = new BenchmarkProvider();
+        var timings = provider.warmUp(getClass().getPackageName() + ".objects", BenchmarkEntity.class, Map.class);
+        assertFalse(timings.isEmpty());
+        timings.forEach((name, duration) -> log.info("Warmed up {} in {}us", name, duration.toNanos() / 1000));
+
+        var projections = new ArrayList<Pair<Class<?>, Class<?>[]>>();
+        projections.add(Pair.of(BenchmarkEntity.class, new Class<?>[]{BenchmarkView.class}));
+        projections.add(Pair.of(BenchmarkEntity.class, new Class<?>[]{BenchmarkEntity.class}));
+        assertThrows(ProjectionCreationException.class, () -> provider.warmUp(projections));
+    }
+
+    protected static long metaspace(Callable<Class<?>> task) throws Exception {
+        var pool = ManagementFactory.getMemoryPoolMXBeans().stream().filter(p -> "Metaspace".equals(p.getName())).findFirst().orElseThrow();
+        var classes = new ArrayList<Class<?>>();
+        var before = pool.getUsage().getUsed();
+        for (var i = 0; i < ITERATIONS; i++) {
+            classes.add(task.call());
+        }
+        return (pool.getUsage().getUsed() - before) / classes.size();
+    }
+
+    protected static Map<String, Object> row(int index) {
+        var row = new HashMap<String, Object>();
+        row.put("name", "name" + index);
+        row.put("value", index);
+        row.put("count", (long) index);
+        return row;
+    }
+
+    protected static long retained(IntFunction<Object> factory) {
+        var memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        var before = memory.getHeapMemoryUsage().getUsed();
+        var rows = new Object[INSTANCES];
+        for (var i = 0; i < INSTANCES; i++) {
+            rows[i] = factory.apply(i);
+        }
+        System.gc();
+        var result = (memory.getHeapMemoryUsage().getUsed() - before) / INSTANCES;
+        Reference.reachabilityFence(rows);
+        return result;
+    }
+
+    protected static long readList(MapListView view) {
+        var sum = 0L;
+        for (var i = 0; i < view.getValues().size(); i++) {
+            sum += view.getValues().get(i);
+        }
+        return sum;
+    }
+
+    protected static long readMap(MapView view) {
+        var sum = 0L;
+        for (var i = 0; i < INSTANCES; i++) {
+            sum += view.getValue() + view.getName().length() + view.getCount() + view.getMissing();
+        }
+        return sum;
+    }
+
+    protected static long readView(BenchmarkView view) {
+        var sum = 0L;
+        for (var i = 0; i < INSTANCES; i++) {
+            sum += view.getValue() + view.getName().length() + view.getChildName().length();
+        }
+        return sum;
+    }
+
+    protected static long measure(Callable<?> task) throws Exception {
+        task.call();
+        var start = System.nanoTime();
+        for (var i = 0; i < ITERATIONS; i++) {
+            assertNotNull(task.call());
+        }
+        return (System.nanoTime() - start) / ITERATIONS / 1000;
+    }
+
+    public static class BenchmarkProvider extends CodeGenProjectionProvider {
+        public Class<?> pregenerated(ClassLoader loader, Class<?> cls, Class<?>[] projections) {
+            return loadPregeneratedClass(loader, cls, projections);
+        }
+    }
+
+    public interface BenchmarkView {
+        String getName();
+
+        int getValue();
+
+        String getChildName();
+    }
+
+    public interface IndexedView {
+        int getIndex();
+    }
+
+    public static class IndexedEntity {
+        private final int index;
+
+        public IndexedEntity(int index) {
+            this.index = index;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+    }
+
+    public static class ShiftedEntity extends IndexedEntity {
+        public ShiftedEntity(int index) {
+            super(index);
+        }
+
+        @Override
+        public int getIndex() {
+            return super.getIndex() + 1;
+        }
+    }
+
+    public interface MapView {
+        String getName();
+
+        int getValue();
+
+        long getCount();
+
+        int getMissing();
+    }
+
+    public interface MapListView {
+        List<Integer> getValues();
+    }
+
+    public interface NestedView {
+        IndexedView getChild();
+    }
+
+    public static class NestedEntity {
+        private IndexedEntity child = new IndexedEntity(1);
+
+        public IndexedEntity getChild() {
+            return child;
+        }
+    }
+
+    public static class BenchmarkEntity {
+        public String getName() {
+            return "name";
+        }
+
+        public int getValue() {
+            return 5;
+        }
+
+        public BenchmarkEntity getChild() {
+            return this;
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+package net.binis.codegen.projection;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.projection.tools.ProjectionBytecodeCache;
+import net.binis.codegen.projection.tools.ProjectionSettings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectionBytecodeCacheTest {
+
+    @Test
+    void testSettingsChange(@TempDir Path directory) {
+        var loader = getClass().getClassLoader();
+        var bytes = new byte[]{1, 2, 3};
+        ProjectionSettings.setCacheDirectory(directory);
+        try {
+            ProjectionBytecodeCache.write(loader, "Cached", List.of(getClass().getName()), bytes);
+            assertArrayEquals(bytes, ProjectionBytecodeCache.read(loader, "Cached"));
+
+            ProjectionSettings.setComputeFrames(!ProjectionSettings.isComputeFrames());
+            try {
+                assertNull(ProjectionBytecodeCache.read(loader, "Cached"));
+            } finally {
+                ProjectionSettings.setComputeFrames(!ProjectionSettings.isComputeFrames());
+            }
+            assertArrayEquals(bytes, ProjectionBytecodeCache.read(loader, "Cached"));
+        } finally {
+            ProjectionSettings.setCacheDirectory(null);
+        }
+    }
+
+}
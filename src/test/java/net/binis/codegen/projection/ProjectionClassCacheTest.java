@@ -0,0 +1,181 @@
+package net.binis.codegen.projection;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.projection.exception.ProjectionCreationException;
+import net.binis.codegen.projection.tools.ProjectionClassCache;
+import net.binis.codegen.projection.tools.ProjectionSettings;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectionClassCacheTest {
+
+    @Test
+    void testStatistics() {
+        var cache = new ProjectionClassCache();
+
+        assertEquals(String.class, cache.get(() -> String.class, Integer.class, Runnable.class));
+        assertEquals(String.class, cache.get(() -> fail("Cached class expected"), Integer.class, Runnable.class));
+        assertEquals(Long.class, cache.get(() -> Long.class, Integer.class));
+
+        assertEquals(new ProjectionClassCache.Statistics(1, 2, 0, 2), cache.getStatistics());
+
+        cache.clear();
+        assertEquals(0, cache.getStatistics().size());
+    }
+
+    @Test
+    void testEviction() {
+        var cache = new ProjectionClassCache();
+        ProjectionSettings.setMaxClasses(2);
+        try {
+            cache.get(() -> String.class, Integer.class);
+            cache.get(() -> String.class, Long.class);
+            cache.get(() -> fail("Cached class expected"), Integer.class);
+            cache.get(() -> String.class, Double.class);
+
+            var statistics = cache.getStatistics();
+            assertEquals(1, statistics.evictions());
+            assertEquals(2, statistics.size());
+            assertEquals(String.class, cache.get(() -> fail("Cached class expected"), Integer.class));
+            assertEquals(Boolean.class, cache.get(() -> Boolean.class, Long.class));
+            assertEquals(2, cache.getStatistics().size());
+            assertEquals(String.class, cache.get(() -> fail("Cached class expected"), Integer.class));
+        } finally {
+            ProjectionSettings.setMaxClasses(0);
+        }
+    }
+
+    @Test
+    void testContention() throws Exception {
+        var cache = new ProjectionClassCache();
+        var threads = 64;
+        var generations = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var results = new ArrayList<Future<Class<?>>>();
+            for (var i = 0; i < threads; i++) {
+                var key = i % 2 == 0 ? Integer.class : Long.class;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(() -> {
+                        generations.incrementAndGet();
+                        try {
+                            Thread.sleep(100);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return key == Integer.class ? String.class : Boolean.class;
+                    }, key, Runnable.class);
+                }));
+            }
+            start.countDown();
+
+            for (var i = 0; i < threads; i++) {
+                assertEquals(i % 2 == 0 ? String.class : Boolean.class, results.get(i).get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(2, generations.get());
+            assertEquals(new ProjectionClassCache.Statistics(threads - 2, 2, 0, 2), cache.getStatistics());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRecursiveGeneration() {
+        var cache = new ProjectionClassCache();
+
+        assertThrows(ProjectionCreationException.class, () -> cache.get(() -> cache.get(() -> String.class, Integer.class), Integer.class));
+        assertEquals(Long.class, cache.get(() -> Long.class, Integer.class));
+        assertEquals(String.class, cache.get(() -> cache.get(() -> String.class, Long.class), Integer.class, Runnable.class));
+    }
+
+    @Test
+    void testSameNamedKeyClasses() throws Exception {
+        var cache = new ProjectionClassCache();
+        var location = getClass().getProtectionDomain().getCodeSource().getLocation();
+        try (var first = new URLClassLoader(new URL[]{location}, null); var second = new URLClassLoader(new URL[]{location}, null)) {
+            var a = first.loadClass(Isolated.class.getName());
+            var b = second.loadClass(Isolated.class.getName());
+
+            assertSame(a, cache.get(() -> a, Integer.class, a));
+            assertSame(b, cache.get(() -> b, Integer.class, b));
+            assertSame(a, cache.get(() -> fail("Cached class expected"), Integer.class, a));
+            assertEquals(2, cache.getStatistics().size());
+        }
+    }
+
+    @Test
+    void testClassLoaderNotPinned() throws Exception {
+        var cache = new ProjectionClassCache();
+        var ref = cacheInIsolatedLoader(cache, false);
+
+        for (var i = 0; i < 20 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+
+        assertNull(ref.get());
+    }
+
+    @Test
+    void testClassLoaderNotPinnedByBootstrapKey() throws Exception {
+        var cache = new ProjectionClassCache();
+        var ref = cacheInIsolatedLoader(cache, true);
+
+        for (var i = 0; i < 20 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+
+        assertNull(ref.get());
+    }
+
+    private WeakReference<ClassLoader> cacheInIsolatedLoader(ProjectionClassCache cache, boolean bootstrapKey) throws Exception {
+        var location = getClass().getProtectionDomain().getCodeSource().getLocation();
+        var loader = new URLClassLoader(new URL[]{location}, null);
+        var cls = loader.loadClass(Isolated.class.getName());
+        assertNotSame(Isolated.class, cls);
+        if (bootstrapKey) {
+            assertSame(cls, cache.get(() -> cls, Runnable.class, cls));
+            assertSame(cls, cache.get(() -> fail("Cached class expected"), Runnable.class, cls));
+        } else {
+            assertSame(cls, cache.get(() -> cls, cls));
+        }
+        return new WeakReference<>(loader);
+    }
+
+    public static class Isolated {
+    }
+
+}
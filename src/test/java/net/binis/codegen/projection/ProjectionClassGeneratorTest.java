@@ -0,0 +1,125 @@
+package net.binis.codegen.projection;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.objects.Pair;
+import net.binis.codegen.projection.exception.ProjectionCreationException;
+import net.binis.codegen.projection.provider.CodeGenProjectionProvider;
+import net.binis.codegen.projection.tools.ProjectionClassGenerator;
+import net.bytebuddy.ByteBuddy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectionClassGeneratorTest {
+
+    private static final Class<?>[] PROJECTIONS = {GeneratedView.class};
+
+    @Test
+    void testParse() {
+        var loader = getClass().getClassLoader();
+        var declarations = ProjectionClassGenerator.parse(List.of(
+                "# comment",
+                "",
+                " " + GeneratedEntity.class.getName() + " = " + GeneratedView.class.getName() + ", " + Runnable.class.getName() + " "), loader);
+
+        assertEquals(1, declarations.size());
+        assertEquals(GeneratedEntity.class, declarations.get(0).getKey());
+        assertArrayEquals(new Class<?>[]{GeneratedView.class, Runnable.class}, declarations.get(0).getValue());
+
+        assertThrows(ProjectionCreationException.class, () -> ProjectionClassGenerator.parse(List.of(GeneratedEntity.class.getName()), loader));
+        assertThrows(ProjectionCreationException.class, () -> ProjectionClassGenerator.parse(List.of(GeneratedEntity.class.getName() + "= ,"), loader));
+        assertThrows(ProjectionCreationException.class, () -> ProjectionClassGenerator.parse(List.of(GeneratedEntity.class.getName() + "=net.binis.Missing"), loader));
+    }
+
+    @Test
+    void testReadDeclarations(@TempDir Path directory) throws Exception {
+        var resource = directory.resolve(ProjectionClassGenerator.DECLARATIONS);
+        Files.createDirectories(resource.getParent());
+        Files.writeString(resource, GeneratedEntity.class.getName() + "=" + GeneratedView.class.getName() + "\n");
+
+        try (var loader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, getClass().getClassLoader())) {
+            var declarations = ProjectionClassGenerator.readDeclarations(loader);
+            assertEquals(1, declarations.size());
+            assertEquals(GeneratedEntity.class, declarations.get(0).getKey());
+            assertArrayEquals(PROJECTIONS, declarations.get(0).getValue());
+        }
+    }
+
+    @Test
+    void testPregenerated(@TempDir Path directory) throws Exception {
+        var provider = new PregeneratedProvider();
+        var name = CodeGenProjectionProvider.getProjectionClassName(GeneratedEntity.class, PROJECTIONS) + CodeGenProjectionProvider.getVariantSuffix();
+        assertEquals(List.of(name), ProjectionClassGenerator.generate(directory, List.of(Pair.of(GeneratedEntity.class, PROJECTIONS))));
+
+        try (var loader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, getClass().getClassLoader())) {
+            var cls = provider.pregenerated(loader, GeneratedEntity.class, PROJECTIONS);
+            assertNotNull(cls);
+            assertEquals(name, cls.getName());
+            assertNull(provider.pregenerated(loader, GeneratedEntity.class, new Class<?>[]{Runnable.class}));
+
+            var view = (GeneratedView) cls.getDeclaredConstructor(GeneratedEntity.class).newInstance(new GeneratedEntity());
+            assertEquals("name", view.getName());
+            assertEquals(5, view.getValue());
+        }
+    }
+
+    @Test
+    void testStaleClassRejected(@TempDir Path directory) throws Exception {
+        var name = CodeGenProjectionProvider.getProjectionClassName(GeneratedEntity.class, PROJECTIONS) + CodeGenProjectionProvider.getVariantSuffix();
+        new ByteBuddy().subclass(Object.class).name(name).make().saveIn(directory.toFile());
+
+        try (var loader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, getClass().getClassLoader())) {
+            assertNotNull(Class.forName(name, false, loader));
+            assertNull(new PregeneratedProvider().pregenerated(loader, GeneratedEntity.class, PROJECTIONS));
+        }
+    }
+
+    public static class PregeneratedProvider extends CodeGenProjectionProvider {
+        public Class<?> pregenerated(ClassLoader loader, Class<?> cls, Class<?>[] projections) {
+            return loadPregeneratedClass(loader, cls, projections);
+        }
+    }
+
+    public interface GeneratedView {
+        String getName();
+
+        int getValue();
+    }
+
+    public static class GeneratedEntity {
+        public String getName() {
+            return "name";
+        }
+
+        public int getValue() {
+            return 5;
+        }
+    }
+
+}
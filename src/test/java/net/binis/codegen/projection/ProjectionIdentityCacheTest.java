@@ -0,0 +1,96 @@
+package net.binis.codegen.projection;
+
+/*-
+ * #%L
+ * code-generator-projection
+ * %%
+ * Copyright (C) 2021 - 2026 Binis Belev
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import net.binis.codegen.projection.provider.CodeGenProjectionProvider;
+import net.binis.codegen.projection.tools.ProjectionIdentityCache;
+import net.binis.codegen.projection.tools.ProjectionSettings;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectionIdentityCacheTest {
+
+    @Test
+    void testIdentity() {
+        ProjectionSettings.setIdentityCache(true);
+        try {
+            var instantiation = new CodeGenProjectionProvider().create(Entity.class, View.class);
+            assertInstanceOf(ProjectionIdentityCache.class, instantiation);
+
+            var entity = new Entity("name");
+            var view = (View) instantiation.create(entity);
+            assertEquals("name", view.getName());
+            assertSame(view, instantiation.create(entity));
+            assertNotSame(view, instantiation.create(new Entity("name")));
+        } finally {
+            ProjectionSettings.setIdentityCache(false);
+        }
+
+        var instantiation = new CodeGenProjectionProvider().create(Entity.class, View.class);
+        var entity = new Entity("name");
+        assertNotSame(instantiation.create(entity), instantiation.create(entity));
+    }
+
+    @Test
+    void testWeakReferences() throws Exception {
+        var cache = new ProjectionIdentityCache(Holder::new);
+        var ref = project(cache);
+
+        for (var i = 0; i < 20 && (ref.get() != null || cache.size() > 0); i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+
+        assertNull(ref.get());
+        assertEquals(0, cache.size());
+    }
+
+    private WeakReference<Object> project(ProjectionIdentityCache cache) {
+        var entity = new Entity("name");
+        var projection = cache.create(entity);
+        assertSame(projection, cache.create(entity));
+        assertEquals(1, cache.size());
+        return new WeakReference<>(entity);
+    }
+
+    public interface View {
+        String getName();
+    }
+
+    public record Holder(Object value) {
+    }
+
+    public static class Entity {
+        private final String name;
+
+        public Entity(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+}
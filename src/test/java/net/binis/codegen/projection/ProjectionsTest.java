@@ -33,11 +33,16 @@ import lombok.extern.slf4j.Slf4j;
 import net.binis.codegen.factory.CodeFactory;
 import net.binis.codegen.projection.interfaces.CodeProxyControl;
 import net.binis.codegen.projection.objects.CodeProxyBase;
+import net.binis.codegen.projection.provider.CodeGenProjectionProvider;
+import net.binis.codegen.projection.tools.ProjectionClassDefiner;
+import net.binis.codegen.projection.tools.ProjectionSettings;
 import org.junit.jupiter.api.Test;
 import tools.jackson.databind.ObjectMapper;
 
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -59,6 +64,180 @@ class ProjectionsTest {
         assertEquals(obj, ((CodeProxyControl)proxy)._object$());
     }
 
+    @Test
+    void testEquality() {
+        var obj = new TestObject();
+        var proxy = CodeFactory.projection(obj, TestProjection.class);
+        var other = new CodeGenProjectionProvider().rebindable(TestObject.class, TestProjection.class);
+        ((CodeProxyControl) other)._rebind$(obj);
+
+        assertNotSame(proxy, other);
+        assertEquals(proxy, other);
+        assertEquals(obj.hashCode(), proxy.hashCode());
+        assertEquals(obj.toString(), proxy.toString());
+        assertEquals(1, Set.of(proxy).size());
+        assertTrue(new HashSet<>(List.of(proxy, other)).contains(other));
+        assertNotEquals(proxy, obj);
+    }
+
+    @Test
+    void testDirtyTracking() {
+        var obj = new TestObject();
+        TrackedProjection proxy;
+        ProjectionSettings.setDirtyTracking(true);
+        try {
+            proxy = CodeFactory.projection(obj, TrackedProjection.class);
+        } finally {
+            ProjectionSettings.setDirtyTracking(false);
+        }
+        var control = (CodeProxyControl) proxy;
+
+        assertTrue(control._dirty$().isEmpty());
+        proxy.setValue("changed");
+        assertEquals(Set.of("value"), control._dirty$());
+        assertEquals(Map.of("value", "changed"), control._changes$());
+        var batches = new ArrayList<Map<String, Object>>();
+        control._flush$(batches::add);
+        control._flush$(batches::add);
+        assertEquals(List.of(Map.of("value", "changed")), batches);
+        assertTrue(control._dirty$().isEmpty());
+        assertThrows(UnsupportedOperationException.class, ((CodeProxyControl) CodeFactory.projection(obj, TestProjection.class))::_dirty$);
+    }
+
+    @Test
+    void testDirtyTrackingSwitched() {
+        var provider = new CodeGenProjectionProvider();
+        var untracked = (CodeProxyControl) provider.create(TestObject.class, SwitchedProjection.class).create(new TestObject());
+        assertThrows(UnsupportedOperationException.class, untracked::_dirty$);
+
+        ProjectionSettings.setDirtyTracking(true);
+        try {
+            var tracked = provider.create(TestObject.class, SwitchedProjection.class).create(new TestObject());
+            ((SwitchedProjection) tracked).setValue("changed");
+            assertEquals(Set.of("value"), ((CodeProxyControl) tracked)._dirty$());
+            assertTrue(tracked.getClass().getName().contains(CodeGenProjectionProvider.TRACKED_SUFFIX));
+        } finally {
+            ProjectionSettings.setDirtyTracking(false);
+        }
+    }
+
+    @Test
+    void testInstantiation() {
+        var identity = ProjectionSettings.isIdentityCache();
+        var loading = ProjectionSettings.getLoading();
+        ProjectionSettings.setIdentityCache(false);
+        try {
+            ProjectionSettings.setLoading(ProjectionSettings.Loading.WRAPPER);
+            var wrapped = new CodeGenProjectionProvider().create(TestObject.class, WrappedProjection.class);
+            ProjectionSettings.setLoading(ProjectionSettings.Loading.HIDDEN);
+            var hidden = new CodeGenProjectionProvider().create(TestObject.class, HiddenProjection.class);
+
+            assertFalse(wrapped instanceof CodeGenProjectionProvider.ReflectiveInstantiation);
+            assertFalse(hidden instanceof CodeGenProjectionProvider.ReflectiveInstantiation);
+            assertEquals("value", ((WrappedProjection) wrapped.create(new TestObject())).getValue());
+            assertEquals("value", ((HiddenProjection) hidden.create(new TestObject())).getValue());
+        } finally {
+            ProjectionSettings.setIdentityCache(identity);
+            ProjectionSettings.setLoading(loading);
+        }
+    }
+
+    @Test
+    void testBackendVariants() {
+        var backend = ProjectionSettings.getBackend();
+        try {
+            ProjectionSettings.setBackend(ProjectionSettings.Backend.BYTE_BUDDY);
+            var byteBuddy = new CodeGenProjectionProvider().create(TestObject.class, BackendProjection.class).create(new TestObject());
+            ProjectionSettings.setBackend(ProjectionSettings.Backend.ASM);
+            var asm = new CodeGenProjectionProvider().create(TestObject.class, BackendProjection.class).create(new TestObject());
+
+            assertNotSame(byteBuddy.getClass(), asm.getClass());
+            assertTrue(asm.getClass().getName().contains(CodeGenProjectionProvider.ASM_SUFFIX));
+            assertEquals("value", ((BackendProjection) asm).getValue());
+        } finally {
+            ProjectionSettings.setBackend(backend);
+        }
+    }
+
+    @Test
+    void testForEachProjected() {
+        var provider = new CodeGenProjectionProvider();
+        var objects = List.of(new TestObject(), new TestObject());
+        var seen = new ArrayList<TestProjection>();
+        provider.forEachProjected(objects, TestProjection.class, p -> {
+            assertEquals("value", p.getValue());
+            seen.add(p);
+        });
+        assertSame(seen.get(0), seen.get(1));
+        assertNull(((CodeProxyControl) seen.get(0))._object$());
+
+        seen.clear();
+        assertThrows(IllegalStateException.class, () -> provider.forEachProjected(objects, TestProjection.class, p -> {
+            seen.add(p);
+            throw new IllegalStateException();
+        }));
+        assertNull(((CodeProxyControl) seen.get(0))._object$());
+    }
+
+    @Test
+    void testProjectAll() {
+        var provider = new CodeGenProjectionProvider();
+        var objects = new ArrayList<TestObject>();
+        for (var i = 0; i < 100; i++) {
+            var object = i % 3 == 0 ? new OtherTestObject() : new TestObject();
+            object.setValue("value" + i);
+            objects.add(object);
+        }
+        objects.set(1, null);
+
+        var threshold = ProjectionSettings.getParallelThreshold();
+        try {
+            for (var t : new int[]{0, 10}) {
+                ProjectionSettings.setParallelThreshold(t);
+                var projected = provider.projectAll(objects, SwitchedProjection.class);
+                assertEquals(objects.size(), projected.size());
+                assertNull(projected.get(1));
+                for (var i = 2; i < objects.size(); i++) {
+                    assertEquals("value" + i, projected.get(i).getValue());
+                }
+            }
+        } finally {
+            ProjectionSettings.setParallelThreshold(threshold);
+        }
+        assertThrows(IllegalArgumentException.class, () -> provider.projectAll(objects, SwitchedProjection.class, new SwitchedProjection[1]));
+    }
+
+    @Test
+    void testComputedFrames() throws Exception {
+        var computeFrames = ProjectionSettings.isComputeFrames();
+        ProjectionSettings.setComputeFrames(true);
+        try {
+            var type = new CodeGenProjectionProvider().makeProjectionClass(TestObject.class, new Class<?>[]{TestProjection.class});
+            var cls = ProjectionClassDefiner.define(null, getClass().getClassLoader(), type);
+            var projection = (TestProjection) cls.getDeclaredConstructor(TestObject.class).newInstance(new TestObject());
+            assertEquals("value", projection.getValue());
+        } finally {
+            ProjectionSettings.setComputeFrames(computeFrames);
+        }
+    }
+
+    @Test
+    void testLinkageVariants() {
+        var linkage = ProjectionSettings.getLinkage();
+        try {
+            ProjectionSettings.setLinkage(ProjectionSettings.Linkage.BYTECODE);
+            var bytecode = new CodeGenProjectionProvider().create(TestObject.class, LinkageProjection.class).create(new TestObject());
+            ProjectionSettings.setLinkage(ProjectionSettings.Linkage.INVOKEDYNAMIC);
+            var linked = new CodeGenProjectionProvider().create(TestObject.class, LinkageProjection.class).create(new TestObject());
+
+            assertNotSame(bytecode.getClass(), linked.getClass());
+            assertTrue(linked.getClass().getName().contains(CodeGenProjectionProvider.LINKED_SUFFIX));
+            assertEquals("value", ((LinkageProjection) linked).getValue());
+        } finally {
+            ProjectionSettings.setLinkage(linkage);
+        }
+    }
+
     @Test
     void test() {
         var obj = new TestObject();
@@ -234,6 +413,34 @@ class ProjectionsTest {
         int getListSize();
     }
 
+    public interface TrackedProjection {
+        String getValue();
+
+        void setValue(String value);
+    }
+
+    public interface WrappedProjection {
+        String getValue();
+    }
+
+    public interface HiddenProjection {
+        String getValue();
+    }
+
+    public interface BackendProjection {
+        String getValue();
+    }
+
+    public interface LinkageProjection {
+        String getValue();
+    }
+
+    public interface SwitchedProjection {
+        String getValue();
+
+        void setValue(String value);
+    }
+
     public interface SubProjection {
         String getSub();
     }
@@ -245,6 +452,9 @@ class ProjectionsTest {
     }
 
     @Slf4j
+    public static class OtherTestObject extends TestObject {
+    }
+
     public static class TestObject extends BaseTestObject {
 
         private String value = "value";
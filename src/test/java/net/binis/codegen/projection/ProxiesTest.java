@@ -25,15 +25,26 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.binis.codegen.factory.CodeFactory;
+import net.binis.codegen.projection.interfaces.CodeInvocationHandler;
+import net.binis.codegen.projection.provider.CodeGenProjectionProvider;
 import org.junit.jupiter.api.Test;
 import tools.jackson.databind.ObjectMapper;
 
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Slf4j
 class ProxiesTest {
@@ -76,6 +87,84 @@ class ProxiesTest {
         assertEquals(Map.of("1", "2", "3", "4"), proxy.getMap());
     }
 
+    @Test
+    void testMultiple() {
+        var proxy = new CodeGenProjectionProvider().multiple(handler, TestIntf.class, Named.class);
+
+        assertEquals("Test", ((TestIntf) proxy).getName());
+        assertEquals(10, ((TestIntf) proxy).getAge());
+        assertEquals("Test", ((Named) proxy).getName());
+    }
+
+    @Test
+    void testIndexedHandler() {
+        var calls = new HashMap<String, Integer>();
+        var proxy = (TestIntf) CodeFactory.proxy(TestIntf.class, new CodeInvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Object invoke(Object proxy, int index, Method method, Object[] args) {
+                calls.put(method.getName(), index);
+                return method.getName();
+            }
+
+            @Override
+            public int invokeInt(Object proxy, int index, Method method, Object[] args) {
+                calls.put(method.getName(), index);
+                return index;
+            }
+        });
+
+        assertEquals("getName", proxy.getName());
+        assertEquals(proxy.getAge(), (int) calls.get("getAge"));
+        assertNotEquals(calls.get("getName"), calls.get("getAge"));
+    }
+
+    @Test
+    void testWarmUpProxy() {
+        var instantiation = new CodeGenProjectionProvider().warmUpProxy(TestClass.class, Named.class);
+        var proxy = instantiation.create(handler);
+
+        assertNotSame(proxy, instantiation.create(handler));
+        assertSame(proxy.getClass(), instantiation.create(handler).getClass());
+        assertEquals("Test", ((TestClass) proxy).getName());
+        assertEquals(10, ((TestClass) proxy).getAge());
+        assertEquals("Test", ((Named) proxy).getName());
+        assertNull(proxy.toString());
+    }
+
+    @Test
+    void testSingleProxy() {
+        var provider = new CodeGenProjectionProvider();
+        var proxy = provider.proxy(TestIntf.class, handler);
+        var hits = CodeGenProjectionProvider.getProxyCacheStatistics().hits();
+
+        assertSame(proxy.getClass(), provider.proxy(TestIntf.class, handler).getClass());
+        assertSame(proxy.getClass(), provider.proxy(TestIntf.class, handler).getClass());
+        assertEquals(hits, CodeGenProjectionProvider.getProxyCacheStatistics().hits());
+    }
+
+    @Test
+    void testProxyMethodTable() throws Exception {
+        var provider = new CodeGenProjectionProvider();
+        var methods = new ArrayList<Method>();
+        InvocationHandler recording = (proxy, method, args) -> {
+            methods.add(method);
+            return null;
+        };
+        ((TestIntf) provider.proxy(TestIntf.class, recording)).getName();
+        ((TestClass) provider.proxy(TestClass.class, recording)).getName();
+        assertEquals(List.of(TestIntf.class.getMethod("getName"), TestClass.class.getMethod("getName")), methods);
+
+        for (var cls : List.of(TestIntf.class, TestClass.class)) {
+            var modifiers = provider.proxy(cls, recording).getClass().getDeclaredField(CodeGenProjectionProvider.METHODS_FIELD_NAME).getModifiers();
+            assertTrue(Modifier.isPrivate(modifiers) && Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers));
+        }
+    }
+
     @Test
     void testProxiesProjectionsAndJackson() {
         var mapper = new ObjectMapper();
@@ -96,6 +185,10 @@ class ProxiesTest {
         public Map<String, String> map;
     }
 
+    public interface Named {
+        String getName();
+    }
+
     public interface TestIntf {
         String getName();
 